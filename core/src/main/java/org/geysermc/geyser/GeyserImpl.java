@@ -82,7 +82,6 @@ import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.registry.loader.ResourcePackLoader;
 import org.geysermc.geyser.registry.provider.ProviderSupplier;
-import org.geysermc.geyser.scoreboard.ScoreboardUpdater;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.PendingMicrosoftAuthentication;
 import org.geysermc.geyser.session.SessionDisconnectListener;
@@ -118,10 +117,14 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -164,6 +167,11 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
     private volatile boolean shuttingDown = false;
 
     private ScheduledExecutorService scheduledThread;
+    /**
+     * Translates chunks for all sessions, or null if chunks are translated on each session's event loop.
+     */
+    private @Nullable ExecutorService chunkTranslationExecutor;
+    private @Nullable ExecutorService compressionExecutor;
 
     private GeyserServer geyserServer;
     private final PlatformType platformType;
@@ -298,7 +306,14 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
         GeyserLogger logger = bootstrap.getGeyserLogger();
         GeyserConfiguration config = bootstrap.getGeyserConfig();
 
-        ScoreboardUpdater.init();
+        this.chunkTranslationExecutor = config.getChunkTranslationThreads() > 0
+                ? Executors.newFixedThreadPool(config.getChunkTranslationThreads(), new DefaultThreadFactory("Geyser Chunk Translation Thread"))
+                : null;
+        // Bounded so a burst of joins can't queue up unlimited buffers; the network thread compresses itself when it is full
+        this.compressionExecutor = config.getCompressionThreads() > 0
+                ? new ThreadPoolExecutor(config.getCompressionThreads(), config.getCompressionThreads(), 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(1024), new DefaultThreadFactory("Geyser Compression Thread"), new ThreadPoolExecutor.CallerRunsPolicy())
+                : null;
 
         SkinProvider.registerCacheImageTask(this);
 
@@ -673,6 +688,8 @@ public class GeyserImpl implements GeyserApi, EventRegistrar {
         }
 
         runIfNonNull(scheduledThread, ScheduledExecutorService::shutdown);
+        runIfNonNull(chunkTranslationExecutor, ExecutorService::shutdown);
+        runIfNonNull(compressionExecutor, ExecutorService::shutdown);
         runIfNonNull(geyserServer, GeyserServer::shutdown);
         runIfNonNull(skinUploader, FloodgateSkinUploader::close);
         runIfNonNull(newsHandler, NewsHandler::shutdown);
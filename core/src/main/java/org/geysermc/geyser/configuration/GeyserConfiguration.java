@@ -179,6 +179,20 @@ public interface GeyserConfiguration {
 
     boolean isDisableCompression();
 
+    boolean isEnableChunkCaching();
+
+    int getSharedChunkSectionCacheSize();
+
+    int getChunkTranslationThreads();
+
+    boolean isRequestSubChunks();
+
+    int getCompressionThreads();
+
+    int getTranslatedMessageCacheSize();
+
+    int getEntityViewDistance();
+
     int getConfigVersion();
 
     static void checkGeyserConfiguration(GeyserConfiguration geyserConfig, GeyserLogger geyserLogger) {
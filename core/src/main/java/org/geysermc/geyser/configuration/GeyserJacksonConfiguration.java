@@ -338,6 +338,27 @@ public abstract class GeyserJacksonConfiguration implements GeyserConfiguration
     @JsonProperty("disable-compression")
     private boolean isDisableCompression = true;
 
+    @JsonProperty("enable-chunk-caching")
+    private boolean enableChunkCaching = false;
+
+    @JsonProperty("shared-chunk-section-cache-size")
+    private int sharedChunkSectionCacheSize = 32;
+
+    @JsonProperty("chunk-translation-threads")
+    private int chunkTranslationThreads = 0;
+
+    @JsonProperty("request-sub-chunks")
+    private boolean requestSubChunks = false;
+
+    @JsonProperty("compression-threads")
+    private int compressionThreads = 0;
+
+    @JsonProperty("translated-message-cache-size")
+    private int translatedMessageCacheSize = 4096;
+
+    @JsonProperty("entity-view-distance")
+    private int entityViewDistance = 0;
+
     @JsonProperty("config-version")
     private int configVersion = 0;
 
@@ -28,6 +28,7 @@ package org.geysermc.geyser.dump;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.cache.CacheStats;
 import com.google.common.hash.Hashing;
 import com.google.common.io.ByteSource;
 import com.google.common.io.Files;
@@ -43,7 +44,9 @@ import org.geysermc.geyser.api.extension.Extension;
 import org.geysermc.geyser.configuration.GeyserConfiguration;
 import org.geysermc.geyser.network.GameProtocol;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.SharedRegistryData;
 import org.geysermc.geyser.text.AsteriskSerializer;
+import org.geysermc.geyser.translator.text.MessageTranslator;
 import org.geysermc.geyser.util.CpuUtils;
 import org.geysermc.geyser.util.FileUtils;
 import org.geysermc.geyser.util.WebUtils;
@@ -63,6 +66,8 @@ import java.util.stream.Collectors;
 public class DumpInfo {
     @JsonIgnore
     private static final long MEGABYTE = 1024L * 1024L;
+    @JsonIgnore
+    private static final long KILOBYTE = 1024L;
 
     private final DumpInfo.VersionInfo versionInfo;
     private final int cpuCount;
@@ -76,6 +81,9 @@ public class DumpInfo {
     private final int connectionAttempts;
     private final HashInfo hashInfo;
     private final RamInfo ramInfo;
+    private final ChunkCacheInfo chunkCacheInfo;
+    private final MessageCacheInfo messageCacheInfo;
+    private final SharedRegistryInfo sharedRegistryInfo;
     private LogsInfo logsInfo;
     private final BootstrapDumpInfo bootstrapInfo;
     private final FlagsInfo flagsInfo;
@@ -120,10 +128,22 @@ public class DumpInfo {
         }
 
         this.userPlatforms = new Object2IntOpenHashMap<>();
+        long chunkCacheTotal = 0;
+        long chunkCacheLargest = 0;
         for (GeyserSession session : geyser.getSessionManager().getAllSessions()) {
             DeviceOs device = session.getClientData().getDeviceOs();
             userPlatforms.put(device, userPlatforms.getOrDefault(device, 0) + 1);
+
+            long chunkCacheUsage = session.getChunkCache().getMemoryUsage();
+            chunkCacheTotal += chunkCacheUsage;
+            chunkCacheLargest = Math.max(chunkCacheLargest, chunkCacheUsage);
         }
+        this.chunkCacheInfo = new ChunkCacheInfo(chunkCacheTotal / KILOBYTE, chunkCacheLargest / KILOBYTE);
+
+        CacheStats messageCacheStats = MessageTranslator.messageCacheStats();
+        this.messageCacheInfo = messageCacheStats == null ? null : new MessageCacheInfo(MessageTranslator.messageCacheSize(),
+                messageCacheStats.hitCount(), messageCacheStats.missCount(), messageCacheStats.hitRate());
+        this.sharedRegistryInfo = new SharedRegistryInfo(SharedRegistryData.registrySnapshots(), SharedRegistryData.tagSnapshots());
 
         if (geyser.getGeyserServer() != null) {
             this.connectionAttempts = geyser.getGeyserServer().getConnectionAttempts();
@@ -262,6 +282,24 @@ public class DumpInfo {
     public record HashInfo(String md5Hash, String sha256Hash) {
     }
 
+    /**
+     * Estimated heap used by the chunk caches of all sessions, and by the largest one, in kilobytes.
+     */
+    public record ChunkCacheInfo(long total, long largestSession) {
+    }
+
+    /**
+     * Usage of the translated message cache shared between all sessions, if it is enabled.
+     */
+    public record MessageCacheInfo(long size, long hits, long misses, double hitRate) {
+    }
+
+    /**
+     * How many distinct registry and tag snapshots are shared between sessions.
+     */
+    public record SharedRegistryInfo(long registrySnapshots, long tagSnapshots) {
+    }
+
     public record RamInfo(long free, long total, long max) {
         public RamInfo() {
             this(Runtime.getRuntime().freeMemory() / MEGABYTE,
@@ -72,6 +72,9 @@ import java.util.UUID;
 @Setter
 public class Entity implements GeyserEntity {
     private static final boolean PRINT_ENTITY_SPAWN_DEBUG = Boolean.parseBoolean(System.getProperty("Geyser.PrintEntitySpawnDebug", "false"));
+    private static final EnumSet<MoveEntityDeltaPacket.Flag> FULL_MOVEMENT_FLAGS = EnumSet.of(MoveEntityDeltaPacket.Flag.HAS_X,
+            MoveEntityDeltaPacket.Flag.HAS_Y, MoveEntityDeltaPacket.Flag.HAS_Z, MoveEntityDeltaPacket.Flag.HAS_PITCH,
+            MoveEntityDeltaPacket.Flag.HAS_YAW, MoveEntityDeltaPacket.Flag.HAS_HEAD_YAW);
 
     protected final GeyserSession session;
 
@@ -108,6 +111,14 @@ public class Entity implements GeyserEntity {
      */
     protected boolean valid;
 
+    /**
+     * Set when a movement update was held back because the entity is far from the player. The next update sent
+     * includes the full position and rotation.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean movementHeld;
+
     /* Metadata about this specific entity */
     @Setter(AccessLevel.NONE)
     private float boundingBoxHeight;
@@ -212,6 +223,13 @@ public class Entity implements GeyserEntity {
         }
     }
 
+    /**
+     * Called after an entity that was too far away to be spawned is spawned for the client, to send any state that
+     * is not part of the spawn packet.
+     */
+    public void updateAfterDeferredSpawn() {
+    }
+
     /**
      * To be overridden in other entity classes, if additional things need to be done to the spawn entity packet.
      */
@@ -243,44 +261,99 @@ public class Entity implements GeyserEntity {
     }
 
     public void moveRelative(double relX, double relY, double relZ, float yaw, float pitch, float headYaw, boolean isOnGround) {
-        position = Vector3f.from(position.getX() + relX, position.getY() + relY, position.getZ() + relZ);
-
-        MoveEntityDeltaPacket moveEntityPacket = new MoveEntityDeltaPacket();
-        moveEntityPacket.setRuntimeEntityId(geyserId);
-        if (relX != 0.0) {
-            moveEntityPacket.setX(position.getX());
-            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_X);
+        // Only send what the client can see: Bedrock positions are floats, and rotations are sent as byte angles
+        float x = (float) (position.getX() + relX);
+        float y = (float) (position.getY() + relY);
+        float z = (float) (position.getZ() + relZ);
+        boolean hasX = x != position.getX();
+        boolean hasY = y != position.getY();
+        boolean hasZ = z != position.getZ();
+        if (hasX || hasY || hasZ) {
+            position = Vector3f.from(x, y, z);
         }
-        if (relY != 0.0) {
-            moveEntityPacket.setY(position.getY());
-            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_Y);
+        boolean hasPitch = MathUtils.byteAngle(pitch) != MathUtils.byteAngle(this.pitch);
+        boolean hasYaw = MathUtils.byteAngle(yaw) != MathUtils.byteAngle(this.yaw);
+        boolean hasHeadYaw = MathUtils.byteAngle(headYaw) != MathUtils.byteAngle(this.headYaw);
+        this.pitch = pitch;
+        this.yaw = yaw;
+        this.headYaw = headYaw;
+        boolean onGroundChanged = isOnGround != this.onGround;
+        setOnGround(isOnGround);
+
+        if (!hasX && !hasY && !hasZ && !hasPitch && !hasYaw && !hasHeadYaw && !onGroundChanged) {
+            // Nothing the client would notice
+            return;
         }
-        if (relZ != 0.0) {
-            moveEntityPacket.setZ(position.getZ());
-            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_Z);
+
+        if (session.getEntityCache().holdMovement(this)) {
+            // The entity cache sends the latest position later on
+            movementHeld = true;
+            return;
         }
-        if (pitch != this.pitch) {
-            this.pitch = pitch;
-            moveEntityPacket.setPitch(pitch);
-            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_PITCH);
+
+        MoveEntityDeltaPacket moveEntityPacket = new MoveEntityDeltaPacket();
+        moveEntityPacket.setRuntimeEntityId(geyserId);
+        if (movementHeld) {
+            addFullMovement(moveEntityPacket);
+        } else {
+            if (hasX) {
+                moveEntityPacket.setX(x);
+                moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_X);
+            }
+            if (hasY) {
+                moveEntityPacket.setY(y);
+                moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_Y);
+            }
+            if (hasZ) {
+                moveEntityPacket.setZ(z);
+                moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_Z);
+            }
+            if (hasPitch) {
+                moveEntityPacket.setPitch(pitch);
+                moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_PITCH);
+            }
+            if (hasYaw) {
+                moveEntityPacket.setYaw(yaw);
+                moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_YAW);
+            }
+            if (hasHeadYaw) {
+                moveEntityPacket.setHeadYaw(headYaw);
+                moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_HEAD_YAW);
+            }
         }
-        if (yaw != this.yaw) {
-            this.yaw = yaw;
-            moveEntityPacket.setYaw(yaw);
-            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_YAW);
+        if (isOnGround) {
+            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.ON_GROUND);
         }
-        if (headYaw != this.headYaw) {
-            this.headYaw = headYaw;
-            moveEntityPacket.setHeadYaw(headYaw);
-            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_HEAD_YAW);
+        session.sendUpstreamPacket(moveEntityPacket);
+    }
+
+    /**
+     * Sends the latest position and rotation, if a movement update was held back.
+     */
+    public void sendHeldMovement() {
+        if (!movementHeld) {
+            return;
         }
-        setOnGround(isOnGround);
-        if (isOnGround) {
+        MoveEntityDeltaPacket moveEntityPacket = new MoveEntityDeltaPacket();
+        moveEntityPacket.setRuntimeEntityId(geyserId);
+        addFullMovement(moveEntityPacket);
+        if (onGround) {
             moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.ON_GROUND);
         }
         session.sendUpstreamPacket(moveEntityPacket);
     }
 
+    private void addFullMovement(MoveEntityDeltaPacket moveEntityPacket) {
+        moveEntityPacket.setX(position.getX());
+        moveEntityPacket.setY(position.getY());
+        moveEntityPacket.setZ(position.getZ());
+        moveEntityPacket.setPitch(pitch);
+        moveEntityPacket.setYaw(yaw);
+        moveEntityPacket.setHeadYaw(headYaw);
+        moveEntityPacket.getFlags().addAll(FULL_MOVEMENT_FLAGS);
+        movementHeld = false;
+    }
+
     public void moveAbsolute(Vector3f position, float yaw, float pitch, boolean isOnGround, boolean teleported) {
         moveAbsolute(position, yaw, pitch, getHeadYaw(), isOnGround, teleported);
     }
@@ -300,6 +373,11 @@ public class Entity implements GeyserEntity {
         moveEntityPacket.setOnGround(isOnGround);
         moveEntityPacket.setTeleported(teleported);
 
+        if (session.getEntityCache().isDeferred(this)) {
+            // Not spawned for the client yet; the spawn packet will include this position
+            return;
+        }
+        movementHeld = false;
         session.sendUpstreamPacket(moveEntityPacket);
     }
 
@@ -25,28 +25,42 @@
 
 package org.geysermc.geyser.entity.type;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.math.vector.Vector3f;
-import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.protocol.bedrock.data.entity.EntityEventType;
 import org.cloudburstmc.protocol.bedrock.data.entity.EntityFlag;
 import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
 import org.cloudburstmc.protocol.bedrock.packet.AddItemEntityPacket;
 import org.cloudburstmc.protocol.bedrock.packet.EntityEventPacket;
 import org.geysermc.geyser.entity.EntityDefinition;
+import org.geysermc.geyser.erosion.ErosionBlockCache;
+import org.geysermc.geyser.erosion.GeyserboundPacketHandlerImpl;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.level.block.type.BlockState;
+import org.geysermc.geyser.level.physics.ItemEntityPhysics;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.translator.item.ItemTranslator;
 import org.geysermc.mcprotocollib.protocol.data.game.entity.metadata.EntityMetadata;
 import org.geysermc.mcprotocollib.protocol.data.game.item.ItemStack;
 
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 public class ItemEntity extends ThrowableEntity {
     protected ItemData item;
 
-    private CompletableFuture<Integer> waterLevel = CompletableFuture.completedFuture(-1);
+    /**
+     * The water level of the block at the item's position, or -1 if it isn't water.
+     * Updated by {@link ItemEntityPhysics} after the item moves.
+     */
+    private int waterLevel = -1;
+    /**
+     * The slipperiness of the block the item is resting on.
+     */
+    private float groundSlipperiness = 0.6f;
+    /**
+     * Whether this item is resting on the ground and no longer needs to be ticked, until the server moves it again.
+     */
+    private boolean sleeping;
 
     public ItemEntity(GeyserSession session, int entityId, long geyserId, UUID uuid, EntityDefinition<?> definition, Vector3f position, Vector3f motion, float yaw, float pitch, float headYaw) {
         super(session, entityId, geyserId, uuid, definition, position, motion, yaw, pitch, headYaw);
@@ -75,7 +89,7 @@ public class ItemEntity extends ThrowableEntity {
 
     @Override
     public void tick() {
-        if (removedInVoid() || isInWater()) {
+        if (sleeping || removedInVoid() || isInWater()) {
             return;
         }
         if (!isOnGround() || (motion.getX() * motion.getX() + motion.getZ() * motion.getZ()) > 0.00001) {
@@ -84,9 +98,29 @@ public class ItemEntity extends ThrowableEntity {
             moveAbsoluteImmediate(position.add(motion), getYaw(), getPitch(), getHeadYaw(), isOnGround(), false);
             float drag = getDrag();
             motion = motion.mul(drag, 0.98f, drag);
+        } else {
+            sleeping = true;
         }
     }
 
+    @Override
+    public void moveRelative(double relX, double relY, double relZ, float yaw, float pitch, float headYaw, boolean isOnGround) {
+        sleeping = false;
+        super.moveRelative(relX, relY, relZ, yaw, pitch, headYaw, isOnGround);
+    }
+
+    @Override
+    public void moveAbsolute(Vector3f position, float yaw, float pitch, float headYaw, boolean isOnGround, boolean teleported) {
+        sleeping = false;
+        super.moveAbsolute(position, yaw, pitch, headYaw, isOnGround, teleported);
+    }
+
+    @Override
+    public void setMotion(Vector3f motion) {
+        sleeping = false;
+        super.setMotion(motion);
+    }
+
     public void setItem(EntityMetadata<ItemStack, ?> entityMetadata) {
         ItemData item = ItemTranslator.translateToBedrock(session, entityMetadata.getValue());
         if (this.item == null) {
@@ -113,15 +147,42 @@ public class ItemEntity extends ThrowableEntity {
     @Override
     protected void moveAbsoluteImmediate(Vector3f position, float yaw, float pitch, float headYaw, boolean isOnGround, boolean teleported) {
         float offset = definition.offset();
-        if (waterLevel.join() == 0) { // Item is in a full block of water
+        if (waterLevel == 0) { // Item is in a full block of water
             // Move the item entity down so it doesn't float above the water
             offset = -definition.offset();
         }
         super.moveAbsoluteImmediate(position.add(0, offset, 0), 0, 0, 0, isOnGround, teleported);
         this.position = position;
 
-        waterLevel = session.getGeyser().getWorldManager().getBlockAtAsync(session, position.getFloorX(), position.getFloorY(), position.getFloorZ())
-                .thenApply(BlockStateValues::getWaterLevel);
+        session.getItemEntityPhysics().queue(this);
+    }
+
+    /**
+     * Updates the blocks this item's physics depend on. Called by {@link ItemEntityPhysics} on the session's event loop.
+     *
+     * @return false if a block isn't known yet, in which case the previous value is kept
+     */
+    public boolean updateBlocks(ItemEntityPhysics physics, @Nullable GeyserboundPacketHandlerImpl erosionHandler) {
+        int x = position.getFloorX();
+        int y = position.getFloorY();
+        int z = position.getFloorZ();
+        // Until a block is known, the previous values are kept
+        boolean complete = true;
+        int blockId = physics.blockAt(erosionHandler, x, y, z);
+        if (blockId != ErosionBlockCache.MISSING) {
+            waterLevel = BlockStateValues.getWaterLevel(blockId);
+        } else {
+            complete = false;
+        }
+        if (isOnGround()) {
+            int groundBlockId = physics.blockAt(erosionHandler, x, y - 1, z);
+            if (groundBlockId != ErosionBlockCache.MISSING) {
+                groundSlipperiness = BlockStateValues.getSlipperiness(BlockState.of(groundBlockId));
+            } else {
+                complete = false;
+            }
+        }
+        return complete;
     }
 
     @Override
@@ -137,15 +198,13 @@ public class ItemEntity extends ThrowableEntity {
     @Override
     protected float getDrag() {
         if (isOnGround()) {
-            Vector3i groundBlockPos = position.toInt().down(1);
-            BlockState blockState = session.getGeyser().getWorldManager().blockAt(session, groundBlockPos);
-            return BlockStateValues.getSlipperiness(blockState) * 0.98f;
+            return groundSlipperiness * 0.98f;
         }
         return 0.98f;
     }
 
     @Override
     protected boolean isInWater() {
-        return waterLevel.join() != -1;
+        return waterLevel != -1;
     }
 }
@@ -56,6 +56,7 @@ public class ItemFrameEntity extends Entity {
      * Used for getting the Bedrock block position.
      * Blocks deal with integers whereas entities deal with floats.
      */
+    @Getter
     private final Vector3i bedrockPosition;
     /**
      * Specific block 'state' we are emulating in Bedrock.
@@ -73,7 +73,9 @@ import org.geysermc.mcprotocollib.protocol.data.game.level.particle.ParticleType
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -112,6 +114,14 @@ public class LivingEntity extends Entity {
     @Setter(AccessLevel.NONE)
     private float attributeScale;
 
+    /**
+     * Attributes the server sent while this entity was too far away to be spawned for the client.
+     * Sent once the entity is spawned.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private @Nullable Map<AttributeType, Attribute> deferredAttributes;
+
     public LivingEntity(GeyserSession session, int entityId, long geyserId, UUID uuid, EntityDefinition<?> definition, Vector3f position, Vector3f motion, float yaw, float pitch, float headYaw) {
         super(session, entityId, geyserId, uuid, definition, position, motion, yaw, pitch, headYaw);
     }
@@ -384,6 +394,25 @@ public class LivingEntity extends Entity {
         return InteractionResult.PASS;
     }
 
+    @Override
+    public void updateAfterDeferredSpawn() {
+        updateArmor(session);
+        updateMainHand(session);
+        updateOffHand(session);
+
+        // Health is only sent as an attribute
+        UpdateAttributesPacket attributesPacket = new UpdateAttributesPacket();
+        attributesPacket.setRuntimeEntityId(geyserId);
+        attributesPacket.setAttributes(Collections.singletonList(createHealthAttribute()));
+        session.sendUpstreamPacket(attributesPacket);
+
+        if (deferredAttributes != null) {
+            List<Attribute> attributes = new ArrayList<>(deferredAttributes.values());
+            deferredAttributes = null;
+            updateBedrockAttributes(session, attributes);
+        }
+    }
+
     public void updateArmor(GeyserSession session) {
         if (!valid) return;
 
@@ -453,7 +482,17 @@ public class LivingEntity extends Entity {
      * @param attributes the Java list of attributes sent from the server
      */
     public void updateBedrockAttributes(GeyserSession session, List<Attribute> attributes) {
-        if (!valid) return;
+        if (!valid) {
+            if (session.getEntityCache().isDeferred(this)) {
+                if (deferredAttributes == null) {
+                    deferredAttributes = new LinkedHashMap<>();
+                }
+                for (Attribute attribute : attributes) {
+                    deferredAttributes.put(attribute.getType(), attribute);
+                }
+            }
+            return;
+        }
 
         List<AttributeData> newAttributes = new ArrayList<>();
 
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.erosion;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import org.geysermc.geyser.util.MathUtils;
+
+/**
+ * Mirrors blocks that the backend told us about, so the same block doesn't have to be requested over and over again
+ * while the player moves around. Kept up to date with block updates sent to the player, and dropped for a chunk once
+ * that chunk is resent or unloaded.
+ * <p>
+ * Lookups complete on the Erosion channel's thread, so this is synchronized.
+ */
+public final class ErosionBlockCache {
+    public static final int MISSING = -1;
+    /**
+     * Keeps this from growing without bounds when the player covers a lot of ground without unloading chunks
+     */
+    private static final int MAX_BLOCKS = 16384;
+
+    private final Long2ObjectMap<Int2IntMap> chunks = new Long2ObjectOpenHashMap<>();
+    private final LongSet inFlight = new LongOpenHashSet();
+    private int size;
+
+    public synchronized int get(int x, int y, int z) {
+        Int2IntMap blocks = chunks.get(MathUtils.chunkPositionToLong(x >> 4, z >> 4));
+        if (blocks == null) {
+            return MISSING;
+        }
+        return blocks.get(blockIndex(x, y, z));
+    }
+
+    public synchronized void put(int x, int y, int z, int blockState) {
+        inFlight.remove(positionKey(x, y, z));
+        if (size >= MAX_BLOCKS) {
+            chunks.clear();
+            size = 0;
+        }
+        Int2IntMap blocks = chunks.computeIfAbsent(MathUtils.chunkPositionToLong(x >> 4, z >> 4), $ -> {
+            Int2IntMap map = new Int2IntOpenHashMap();
+            map.defaultReturnValue(MISSING);
+            return map;
+        });
+        if (blocks.put(blockIndex(x, y, z), blockState) == MISSING) {
+            size++;
+        }
+    }
+
+    /**
+     * Only updates blocks that are already mirrored, as a block update doesn't tell us anything about its neighbors.
+     * A prefetch of this block that is still on its way may be older than this update, so it will be discarded.
+     */
+    public synchronized void update(int x, int y, int z, int blockState) {
+        inFlight.remove(positionKey(x, y, z));
+        Int2IntMap blocks = chunks.get(MathUtils.chunkPositionToLong(x >> 4, z >> 4));
+        if (blocks != null && blocks.containsKey(blockIndex(x, y, z))) {
+            blocks.put(blockIndex(x, y, z), blockState);
+        }
+    }
+
+    /**
+     * @return true if the block should be requested; false if it is already known or on its way
+     */
+    public synchronized boolean markInFlight(int x, int y, int z) {
+        if (get(x, y, z) != MISSING) {
+            return false;
+        }
+        return inFlight.add(positionKey(x, y, z));
+    }
+
+    /**
+     * Stores the answer to a request, unless a block update arrived while it was on its way or the block is already known.
+     */
+    public synchronized void completeInFlight(int x, int y, int z, int blockState) {
+        if (inFlight.contains(positionKey(x, y, z)) && get(x, y, z) == MISSING) {
+            put(x, y, z, blockState);
+        }
+    }
+
+    public synchronized void cancelInFlight(int x, int y, int z) {
+        inFlight.remove(positionKey(x, y, z));
+    }
+
+    public synchronized int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public synchronized void removeChunk(int chunkX, int chunkZ) {
+        Int2IntMap removed = chunks.remove(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+        if (removed != null) {
+            size -= removed.size();
+        }
+    }
+
+    public synchronized void clear() {
+        chunks.clear();
+        inFlight.clear();
+        size = 0;
+    }
+
+    /**
+     * Packed the same way as Java Edition block positions
+     */
+    private static long positionKey(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static int blockIndex(int x, int y, int z) {
+        return (y << 8) | ((z & 0xF) << 4) | (x & 0xF);
+    }
+}
@@ -40,9 +40,12 @@ import org.cloudburstmc.protocol.bedrock.data.SoundEvent;
 import org.cloudburstmc.protocol.bedrock.packet.LevelSoundEventPacket;
 import org.geysermc.erosion.packet.ErosionPacketHandler;
 import org.geysermc.erosion.packet.ErosionPacketSender;
+import org.geysermc.erosion.packet.backendbound.BackendboundBatchBlockRequestPacket;
+import org.geysermc.erosion.packet.backendbound.BackendboundBlockRequestPacket;
 import org.geysermc.erosion.packet.backendbound.BackendboundInitializePacket;
 import org.geysermc.erosion.packet.backendbound.BackendboundPacket;
 import org.geysermc.erosion.packet.geyserbound.*;
+import org.geysermc.erosion.util.BlockPositionIterator;
 import org.geysermc.geyser.level.block.BlockStateValues;
 import org.geysermc.geyser.level.block.property.Properties;
 import org.geysermc.geyser.level.block.type.Block;
@@ -55,17 +58,26 @@ import org.geysermc.geyser.translator.level.block.entity.PistonBlockEntity;
 import org.geysermc.geyser.util.BlockEntityUtils;
 import org.geysermc.mcprotocollib.protocol.data.game.level.block.value.PistonValueType;
 
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacketHandler {
+    /**
+     * How many single block lookups may be prefetched at once
+     */
+    private static final int MAX_PREFETCHES_IN_FLIGHT = 256;
+
     private final ErosionPacketSender<BackendboundPacket> packetSender;
-    @Setter
-    private CompletableFuture<Integer> pendingLookup = null;
+    @Getter
+    private final ErosionBlockCache blockCache = new ErosionBlockCache();
     @Getter
     private final Int2ObjectMap<CompletableFuture<Integer>> asyncPendingLookups = Int2ObjectMaps.synchronize(new Int2ObjectOpenHashMap<>(4));
-    @Setter
-    private CompletableFuture<int[]> pendingBatchLookup = null;
+    /**
+     * Batch lookups don't have a transaction ID, but they are answered in order
+     */
+    private final Queue<CompletableFuture<int[]>> pendingBatchLookups = new ConcurrentLinkedQueue<>();
     @Setter
     private CompletableFuture<Int2ObjectMap<byte[]>> pickBlockLookup = null;
 
@@ -78,8 +90,9 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
 
     @Override
     public void handleBatchBlockId(GeyserboundBatchBlockIdPacket packet) {
-        if (this.pendingBatchLookup != null) {
-            this.pendingBatchLookup.complete(packet.getBlocks());
+        CompletableFuture<int[]> future = this.pendingBatchLookups.poll();
+        if (future != null) {
+            future.complete(packet.getBlocks());
         } else {
             session.getGeyser().getLogger().warning("Batch block ID packet received with no future to complete.");
         }
@@ -93,12 +106,6 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
 
     @Override
     public void handleBlockId(GeyserboundBlockIdPacket packet) {
-        if (packet.getTransactionId() == 0) {
-            if (this.pendingLookup != null) {
-                this.pendingLookup.complete(packet.getBlockId());
-                return;
-            }
-        }
         CompletableFuture<Integer> future = this.asyncPendingLookups.remove(packet.getTransactionId());
         if (future != null) {
             future.complete(packet.getBlockId());
@@ -110,17 +117,13 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
     @Override
     public void handleBlockLookupFail(GeyserboundBlockLookupFailPacket packet) {
         if (packet.getTransactionId() == 0) {
-            if (this.pendingBatchLookup != null) {
-                this.pendingBatchLookup.complete(null);
+            CompletableFuture<int[]> batchFuture = this.pendingBatchLookups.poll();
+            if (batchFuture != null) {
+                batchFuture.complete(null);
                 return;
             }
         }
         int transactionId = packet.getTransactionId() - 1;
-        if (transactionId == 0) {
-            if (this.pendingLookup != null) {
-                this.pendingLookup.complete(0);
-            }
-        }
         CompletableFuture<Integer> future = this.asyncPendingLookups.remove(transactionId);
         if (future != null) {
             future.complete(Block.JAVA_AIR_ID);
@@ -199,11 +202,9 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
     public void close() {
         this.packetSender.close();
 
-        if (pendingLookup != null) {
-            pendingLookup.completeExceptionally(new ErosionCancellationException());
-        }
-        if (pendingBatchLookup != null) {
-            pendingBatchLookup.completeExceptionally(new ErosionCancellationException());
+        CompletableFuture<int[]> batchFuture;
+        while ((batchFuture = pendingBatchLookups.poll()) != null) {
+            batchFuture.completeExceptionally(new ErosionCancellationException());
         }
         if (pickBlockLookup != null) {
             pickBlockLookup.completeExceptionally(new ErosionCancellationException());
@@ -215,6 +216,53 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
         return nextTransactionId.getAndIncrement();
     }
 
+    /**
+     * Requests a single block, without waiting on the result.
+     */
+    public CompletableFuture<Integer> requestBlock(int x, int y, int z) {
+        CompletableFuture<Integer> future = new CompletableFuture<>(); // Boxes
+        int transactionId = getNextTransactionId();
+        this.asyncPendingLookups.put(transactionId, future);
+        sendPacket(new BackendboundBlockRequestPacket(transactionId, Vector3i.from(x, y, z)));
+        return future;
+    }
+
+    /**
+     * Requests every block that isn't mirrored yet, so it's already known once it's needed. All requests are sent
+     * at once rather than waiting on each other.
+     */
+    public void prefetchBlocks(BlockPositionIterator iter) {
+        for (iter.reset(); iter.hasNext(); iter.next()) {
+            if (this.blockCache.inFlightCount() >= MAX_PREFETCHES_IN_FLIGHT) {
+                return;
+            }
+            int x = iter.getX();
+            int y = iter.getY();
+            int z = iter.getZ();
+            if (!this.blockCache.markInFlight(x, y, z)) {
+                continue;
+            }
+            requestBlock(x, y, z).whenComplete((blockId, throwable) -> {
+                if (throwable == null) {
+                    this.blockCache.completeInFlight(x, y, z, blockId);
+                } else {
+                    this.blockCache.cancelInFlight(x, y, z);
+                }
+            });
+        }
+    }
+
+    /**
+     * Requests every block of the iterator, without waiting on the result. A lookup that is no longer waited on
+     * still keeps its place in line.
+     */
+    public synchronized CompletableFuture<int[]> requestBlocks(BlockPositionIterator iter) {
+        CompletableFuture<int[]> future = new CompletableFuture<>();
+        this.pendingBatchLookups.add(future);
+        sendPacket(new BackendboundBatchBlockRequestPacket(iter));
+        return future;
+    }
+
     @Override
     public ErosionPacketHandler setChannel(Channel channel) {
         this.packetSender.setChannel(channel);
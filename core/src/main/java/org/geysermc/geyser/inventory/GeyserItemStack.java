@@ -30,16 +30,20 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.ToString;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
 import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.entity.attribute.GeyserAttributeType;
 import org.geysermc.geyser.item.Items;
 import org.geysermc.geyser.item.type.Item;
 import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.registry.type.ItemMapping;
+import org.geysermc.geyser.registry.type.ItemMappings;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.cache.BundleCache;
+import org.geysermc.geyser.text.MinecraftLocale;
 import org.geysermc.geyser.translator.item.ItemTranslator;
 import org.geysermc.mcprotocollib.protocol.data.game.item.ItemStack;
 import org.geysermc.mcprotocollib.protocol.data.game.item.component.DataComponentType;
@@ -50,7 +54,9 @@ import org.geysermc.mcprotocollib.protocol.data.game.recipe.display.slot.ItemSlo
 import org.geysermc.mcprotocollib.protocol.data.game.recipe.display.slot.ItemStackSlotDisplay;
 import org.geysermc.mcprotocollib.protocol.data.game.recipe.display.slot.SlotDisplay;
 
+import java.lang.ref.WeakReference;
 import java.util.HashMap;
+import java.util.Objects;
 import java.util.function.Supplier;
 
 @Data
@@ -69,6 +75,14 @@ public class GeyserItemStack {
     @EqualsAndHashCode.Exclude
     private Item item;
 
+    /**
+     * The last Bedrock translation of this stack, along with everything the translation depended on.
+     */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private CachedItemData cachedItemData;
+
     private GeyserItemStack(int javaId, int amount, DataComponents components) {
         this(javaId, amount, components, 1, null);
     }
@@ -230,11 +244,36 @@ public class GeyserItemStack {
         if (isEmpty()) {
             return ItemData.AIR;
         }
+        if (bundleData != null || getComponent(DataComponentTypes.LODESTONE_TRACKER) != null) {
+            // Bundles keep track of their contents while being translated, and lodestone compasses register their
+            // target with the lodestone cache, which is cleared on dimension changes
+            ItemData.Builder itemData = ItemTranslator.translateToBedrock(session, javaId, amount, components);
+            itemData.netId(getNetId());
+            itemData.usingNetId(true);
+            return session.getBundleCache().checkForBundle(this, itemData);
+        }
+
+        // Containers are often resent without changing most of their items, and translating an item means building
+        // its NBT, lore and names again
+        CachedItemData cached = this.cachedItemData;
+        if (cached != null && cached.matches(session, this)) {
+            return cached.itemData();
+        }
+
         ItemData.Builder itemData = ItemTranslator.translateToBedrock(session, javaId, amount, components);
         itemData.netId(getNetId());
         itemData.usingNetId(true);
-
-        return session.getBundleCache().checkForBundle(this, itemData);
+        ItemData result = itemData.build();
+        if (!MinecraftLocale.isLocaleLoaded(session.locale())) {
+            // Names and lore fall back to the default locale until the player's locale has been loaded
+            this.cachedItemData = null;
+            return result;
+        }
+        this.cachedItemData = new CachedItemData(new WeakReference<>(session), session.locale(), session.isAdvancedTooltips(), session.getItemMappings(),
+            session.getRegistryCache().getGeneration(), session.getPlayerEntity().attributeOrDefault(GeyserAttributeType.ATTACK_DAMAGE),
+            session.getPlayerEntity().attributeOrDefault(GeyserAttributeType.ATTACK_SPEED), amount, netId,
+            components == null ? null : components.clone(), result);
+        return result;
     }
 
     public ItemMapping getMapping(GeyserSession session) {
@@ -287,4 +326,23 @@ public class GeyserItemStack {
     public GeyserItemStack copy(int newAmount) {
         return isEmpty() ? EMPTY : new GeyserItemStack(javaId, newAmount, components == null ? null : components.clone(), netId, bundleData == null ? null : bundleData.copy());
     }
+
+    /**
+     * @param session weakly held, so cached stacks don't keep a closed session alive
+     * @param components a copy of the stack's components at the time of translation, since components can be changed in place
+     */
+    private record CachedItemData(WeakReference<GeyserSession> session, String locale, boolean advancedTooltips, ItemMappings mappings,
+                                  int registryGeneration, float attackDamage, float attackSpeed, int amount, int netId,
+                                  @Nullable DataComponents components, ItemData itemData) {
+
+        boolean matches(GeyserSession session, GeyserItemStack stack) {
+            // Attack damage and speed are shown in the lore of weapons and tools
+            return this.session.get() == session && amount == stack.amount && netId == stack.netId
+                && advancedTooltips == session.isAdvancedTooltips() && mappings == session.getItemMappings()
+                && registryGeneration == session.getRegistryCache().getGeneration()
+                && attackDamage == session.getPlayerEntity().attributeOrDefault(GeyserAttributeType.ATTACK_DAMAGE)
+                && attackSpeed == session.getPlayerEntity().attributeOrDefault(GeyserAttributeType.ATTACK_SPEED)
+                && locale.equals(session.locale()) && Objects.equals(components, stack.components);
+        }
+    }
 }
@@ -41,6 +41,7 @@ import org.geysermc.geyser.item.Items;
 import org.geysermc.geyser.item.components.Rarity;
 import org.geysermc.geyser.level.block.Blocks;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.ComponentHashCache;
 import org.geysermc.geyser.session.cache.registry.JavaRegistries;
 import org.geysermc.geyser.util.MinecraftKey;
 import org.geysermc.mcprotocollib.protocol.data.game.entity.Effect;
@@ -297,8 +298,12 @@ public class DataComponentHashers {
     }
 
     public static <T> HashCode hash(GeyserSession session, DataComponentType<T> component, T value) {
+        return hash(session.getComponentHashCache().getEncoder(), component, value);
+    }
+
+    public static <T> HashCode hash(MinecraftHashEncoder encoder, DataComponentType<T> component, T value) {
         try {
-            return hasher(component).hash(value, new MinecraftHashEncoder(session));
+            return hasher(component).hash(value, encoder);
         } catch (Exception exception) {
             GeyserImpl.getInstance().getLogger().error("Failed to hash item data component " + component.getKey() + " with value " + value + "!");
             GeyserImpl.getInstance().getLogger().error("This is a Geyser bug, please report this!");
@@ -316,18 +321,28 @@ public class DataComponentHashers {
             return new HashedStack(stack.getId(), stack.getAmount(), Map.of(), Set.of());
         }
         Map<DataComponentType<?>, DataComponent<?, ?>> components = patch.getDataComponents();
-        Map<DataComponentType<?>, Integer> hashedAdditions = new HashMap<>();
-        Set<DataComponentType<?>> removals = new HashSet<>();
+        if (components.isEmpty()) {
+            return new HashedStack(stack.getId(), stack.getAmount(), Map.of(), Set.of());
+        }
+        ComponentHashCache hashCache = session.getComponentHashCache();
+        Map<DataComponentType<?>, Integer> hashedAdditions = null;
+        Set<DataComponentType<?>> removals = null;
         for (Map.Entry<DataComponentType<?>, DataComponent<?, ?>> component : components.entrySet()) {
             if (NOT_HASHED.contains(component.getKey())) {
                 GeyserImpl.getInstance().getLogger().debug("Not hashing component " + component.getKey() + " on stack " + stack);
             } else if (component.getValue().getValue() == null) {
+                if (removals == null) {
+                    removals = new HashSet<>();
+                }
                 removals.add(component.getKey());
             } else {
-                hashedAdditions.put(component.getKey(), hash(session, (DataComponentType) component.getKey(), component.getValue().getValue()).asInt());
+                if (hashedAdditions == null) {
+                    hashedAdditions = new HashMap<>();
+                }
+                hashedAdditions.put(component.getKey(), hashCache.hash((DataComponentType) component.getKey(), component.getValue().getValue()));
             }
         }
-        return new HashedStack(stack.getId(), stack.getAmount(), hashedAdditions, removals);
+        return new HashedStack(stack.getId(), stack.getAmount(), hashedAdditions == null ? Map.of() : hashedAdditions, removals == null ? Set.of() : removals);
     }
 
     // TODO better testing
@@ -26,26 +26,28 @@
 package org.geysermc.geyser.item.hashing;
 
 import com.google.common.hash.HashCode;
-import com.google.common.hash.HashFunction;
-import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
 import org.cloudburstmc.nbt.NbtList;
 import org.cloudburstmc.nbt.NbtMap;
-import org.cloudburstmc.nbt.NbtType;
 import org.geysermc.geyser.session.GeyserSession;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.CRC32C;
 
 /**
  * Encodes primitive Java objects, lists, and maps into a {@link HashCode}, using {@link Hashing#crc32c()} as hash function.
  *
  * <p>Based off the {@code HashOps} class in vanilla Java 1.21.5, and is used by {@link MinecraftHasher}.</p>
+ *
+ * <p>Values are written into a reused byte buffer and hashed with one reused {@link CRC32C}, giving the same results as Guava's
+ * {@code crc32c} hasher without going through its streaming hasher. Every hash made by this encoder is 32 bits,
+ * which lists and maps rely on. Since the buffers are reused, an encoder must only be used by one thread at a time.</p>
  */
-@SuppressWarnings("UnstableApiUsage")
 public class MinecraftHashEncoder {
     private static final byte TAG_EMPTY = 1;
     private static final byte TAG_MAP_START = 2;
@@ -67,31 +69,34 @@ public class MinecraftHashEncoder {
     private static final byte TAG_LONG_ARRAY_START = 18;
     private static final byte TAG_LONG_ARRAY_END = 19;
 
-    private static final Comparator<HashCode> HASH_COMPARATOR = Comparator.comparingLong(HashCode::padToLong);
-    private static final Comparator<Map.Entry<HashCode, HashCode>> MAP_ENTRY_ORDER = Map.Entry.<HashCode, HashCode>comparingByKey(HASH_COMPARATOR)
-        .thenComparing(Map.Entry.comparingByValue(HASH_COMPARATOR));
+    private static final VarHandle SHORT_HANDLE = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_HANDLE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG_HANDLE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
 
     private static final byte[] EMPTY = new byte[]{TAG_EMPTY};
     public static final byte[] EMPTY_MAP = new byte[]{TAG_MAP_START, TAG_MAP_END};
     private static final byte[] FALSE = new byte[]{TAG_BOOLEAN, 0};
     private static final byte[] TRUE = new byte[]{TAG_BOOLEAN, 1};
 
-    private final HashFunction hasher;
-    private final GeyserSession session;
+    private static final HashCode EMPTY_HASH = Hashing.crc32c().hashBytes(EMPTY);
+    private static final HashCode EMPTY_MAP_HASH = Hashing.crc32c().hashBytes(EMPTY_MAP);
+    private static final HashCode FALSE_HASH = Hashing.crc32c().hashBytes(FALSE);
+    private static final HashCode TRUE_HASH = Hashing.crc32c().hashBytes(TRUE);
 
-    private final HashCode empty;
-    private final HashCode emptyMap;
-    private final HashCode falseHash;
-    private final HashCode trueHash;
+    private final GeyserSession session;
+    private final CRC32C crc = new CRC32C();
+    private byte[] buffer = new byte[64];
+    /**
+     * Map entries and list elements are collected on these stacks, since hashing an NBT value can hash nested
+     * compounds and lists before the outer one is done.
+     */
+    private long[] entries = new long[16];
+    private int entriesTop;
+    private int[] elements = new int[16];
+    private int elementsTop;
 
     public MinecraftHashEncoder(GeyserSession session) {
-        hasher = Hashing.crc32c();
         this.session = session;
-
-        empty = hasher.hashBytes(EMPTY);
-        emptyMap = hasher.hashBytes(EMPTY_MAP);
-        falseHash = hasher.hashBytes(FALSE);
-        trueHash = hasher.hashBytes(TRUE);
     }
 
     public GeyserSession session() {
@@ -99,133 +104,216 @@ public class MinecraftHashEncoder {
     }
 
     public HashCode empty() {
-        return empty;
+        return EMPTY_HASH;
     }
 
     public HashCode emptyMap() {
-        return emptyMap;
+        return EMPTY_MAP_HASH;
     }
 
     public HashCode number(Number number) {
+        byte[] bytes = buffer(9);
         if (number instanceof Byte b) {
-            return hasher.newHasher(2).putByte(TAG_BYTE).putByte(b).hash();
+            bytes[0] = TAG_BYTE;
+            bytes[1] = b;
+            return hash(2);
         } else if (number instanceof Short s) {
-            return hasher.newHasher(3).putByte(TAG_SHORT).putShort(s).hash();
+            bytes[0] = TAG_SHORT;
+            SHORT_HANDLE.set(bytes, 1, (short) s);
+            return hash(3);
         } else if (number instanceof Integer i) {
-            return hasher.newHasher(5).putByte(TAG_INT).putInt(i).hash();
+            bytes[0] = TAG_INT;
+            INT_HANDLE.set(bytes, 1, (int) i);
+            return hash(5);
         } else if (number instanceof Long l) {
-            return hasher.newHasher(9).putByte(TAG_LONG).putLong(l).hash();
+            bytes[0] = TAG_LONG;
+            LONG_HANDLE.set(bytes, 1, (long) l);
+            return hash(9);
         } else if (number instanceof Float f) {
-            return hasher.newHasher(5).putByte(TAG_FLOAT).putFloat(f).hash();
+            bytes[0] = TAG_FLOAT;
+            INT_HANDLE.set(bytes, 1, Float.floatToRawIntBits(f));
+            return hash(5);
         }
 
-        return hasher.newHasher(9).putByte(TAG_DOUBLE).putDouble(number.doubleValue()).hash();
+        bytes[0] = TAG_DOUBLE;
+        LONG_HANDLE.set(bytes, 1, Double.doubleToRawLongBits(number.doubleValue()));
+        return hash(9);
     }
 
     public HashCode string(String string) {
-        return hasher.newHasher().putByte(TAG_STRING).putInt(string.length()).putUnencodedChars(string).hash();
+        int length = string.length();
+        byte[] bytes = buffer(5 + length * 2);
+        bytes[0] = TAG_STRING;
+        INT_HANDLE.set(bytes, 1, length);
+        for (int i = 0; i < length; i++) {
+            SHORT_HANDLE.set(bytes, 5 + i * 2, (short) string.charAt(i));
+        }
+        return hash(5 + length * 2);
     }
 
     public HashCode bool(boolean b) {
-        return b ? trueHash : falseHash;
+        return b ? TRUE_HASH : FALSE_HASH;
     }
 
     public HashCode map(Map<HashCode, HashCode> map) {
-        Hasher mapHasher = hasher.newHasher();
-        mapHasher.putByte(TAG_MAP_START);
-        map.entrySet().stream()
-            .sorted(MAP_ENTRY_ORDER)
-            .forEach(entry -> mapHasher.putBytes(entry.getKey().asBytes()).putBytes(entry.getValue().asBytes()));
-        mapHasher.putByte(TAG_MAP_END);
-        return mapHasher.hash();
+        int start = entriesTop;
+        try {
+            for (Map.Entry<HashCode, HashCode> entry : map.entrySet()) {
+                pushEntry(entry(entry.getKey(), entry.getValue()));
+            }
+            return hashEntries(start);
+        } finally {
+            entriesTop = start;
+        }
     }
 
     public HashCode nbtMap(NbtMap map) {
-        Map<HashCode, HashCode> hashed = new HashMap<>();
-        for (String key : map.keySet()) {
-            HashCode hashedKey = string(key);
-            Object value = map.get(key);
-            if (value instanceof NbtList<?> list) {
-                hashed.put(hashedKey, nbtList(list));
-            } else {
-                map.listenForNumber(key, n -> hashed.put(hashedKey, number(n)));
-                map.listenForString(key, s -> hashed.put(hashedKey, string(s)));
-                map.listenForCompound(key, compound -> hashed.put(hashedKey, nbtMap(compound)));
-
-                map.listenForByteArray(key, bytes -> hashed.put(hashedKey, byteArray(bytes)));
-                map.listenForIntArray(key, ints -> hashed.put(hashedKey, intArray(ints)));
-                map.listenForLongArray(key, longs -> hashed.put(hashedKey, longArray(longs)));
+        int start = entriesTop;
+        try {
+            for (Map.Entry<String, Object> entry : map.entrySet()) {
+                HashCode value = nbtValue(entry.getValue());
+                if (value != null) {
+                    pushEntry(entry(string(entry.getKey()), value));
+                }
             }
+            return hashEntries(start);
+        } finally {
+            entriesTop = start;
         }
-        return map(hashed);
     }
 
     public HashCode list(List<HashCode> list) {
-        Hasher listHasher = hasher.newHasher();
-        listHasher.putByte(TAG_LIST_START);
-        list.forEach(hash -> listHasher.putBytes(hash.asBytes()));
-        listHasher.putByte(TAG_LIST_END);
-        return listHasher.hash();
+        int size = list.size();
+        byte[] bytes = buffer(2 + size * 4);
+        bytes[0] = TAG_LIST_START;
+        for (int i = 0; i < size; i++) {
+            INT_HANDLE.set(bytes, 1 + i * 4, list.get(i).asInt());
+        }
+        bytes[1 + size * 4] = TAG_LIST_END;
+        return hash(2 + size * 4);
     }
 
-    // TODO can this be written better?
-    @SuppressWarnings("unchecked")
     public HashCode nbtList(NbtList<?> nbtList) {
-        NbtType<?> type = nbtList.getType();
-        List<HashCode> hashed = new ArrayList<>();
-
-        if (type == NbtType.BYTE) {
-            hashed.addAll(((List<Byte>) nbtList).stream().map(this::number).toList());
-        } else if (type == NbtType.SHORT) {
-            hashed.addAll(((List<Short>) nbtList).stream().map(this::number).toList());
-        } else if (type == NbtType.INT) {
-            hashed.addAll(((List<Integer>) nbtList).stream().map(this::number).toList());
-        } else if (type == NbtType.LONG) {
-            hashed.addAll(((List<Long>) nbtList).stream().map(this::number).toList());
-        } else if (type == NbtType.FLOAT) {
-            hashed.addAll(((List<Float>) nbtList).stream().map(this::number).toList());
-        } else if (type == NbtType.DOUBLE) {
-            hashed.addAll(((List<Double>) nbtList).stream().map(this::number).toList());
-        } else if (type == NbtType.STRING) {
-            hashed.addAll(((List<String>) nbtList).stream().map(this::string).toList());
-        } else if (type == NbtType.LIST) {
-            for (NbtList<?> list : (List<NbtList<?>>) nbtList) {
-                hashed.add(nbtList(list));
+        int start = elementsTop;
+        try {
+            for (Object element : nbtList) {
+                HashCode value = nbtValue(element);
+                if (value != null) {
+                    if (elementsTop == elements.length) {
+                        elements = Arrays.copyOf(elements, elements.length * 2);
+                    }
+                    elements[elementsTop++] = value.asInt();
+                }
             }
-        } else if (type == NbtType.COMPOUND) {
-            for (NbtMap compound : (List<NbtMap>) nbtList) {
-                hashed.add(nbtMap(compound));
+
+            int size = elementsTop - start;
+            byte[] bytes = buffer(2 + size * 4);
+            bytes[0] = TAG_LIST_START;
+            for (int i = 0; i < size; i++) {
+                INT_HANDLE.set(bytes, 1 + i * 4, elements[start + i]);
             }
+            bytes[1 + size * 4] = TAG_LIST_END;
+            return hash(2 + size * 4);
+        } finally {
+            elementsTop = start;
         }
-
-        return list(hashed);
     }
 
     public HashCode byteArray(byte[] bytes) {
-        Hasher arrayHasher = hasher.newHasher();
-        arrayHasher.putByte(TAG_BYTE_ARRAY_START);
-        arrayHasher.putBytes(bytes);
-        arrayHasher.putByte(TAG_BYTE_ARRAY_END);
-        return arrayHasher.hash();
+        crc.reset();
+        crc.update(TAG_BYTE_ARRAY_START);
+        crc.update(bytes, 0, bytes.length);
+        crc.update(TAG_BYTE_ARRAY_END);
+        return HashCode.fromInt((int) crc.getValue());
     }
 
     public HashCode intArray(int[] ints) {
-        Hasher arrayHasher = hasher.newHasher();
-        arrayHasher.putByte(TAG_INT_ARRAY_START);
-        for (int i : ints) {
-            arrayHasher.putInt(i);
+        byte[] array = buffer(ints.length * 4 + 2);
+        array[0] = TAG_INT_ARRAY_START;
+        for (int i = 0; i < ints.length; i++) {
+            INT_HANDLE.set(array, 1 + i * 4, ints[i]);
         }
-        arrayHasher.putByte(TAG_INT_ARRAY_END);
-        return arrayHasher.hash();
+        array[ints.length * 4 + 1] = TAG_INT_ARRAY_END;
+        return hash(ints.length * 4 + 2);
     }
 
     public HashCode longArray(long[] longs) {
-        Hasher arrayHasher = hasher.newHasher();
-        arrayHasher.putByte(TAG_LONG_ARRAY_START);
-        for (long l : longs) {
-            arrayHasher.putLong(l);
+        byte[] array = buffer(longs.length * 8 + 2);
+        array[0] = TAG_LONG_ARRAY_START;
+        for (int i = 0; i < longs.length; i++) {
+            LONG_HANDLE.set(array, 1 + i * 8, longs[i]);
+        }
+        array[longs.length * 8 + 1] = TAG_LONG_ARRAY_END;
+        return hash(longs.length * 8 + 2);
+    }
+
+    /**
+     * Hashes an NBT value, or returns null for values that vanilla doesn't hash.
+     */
+    private HashCode nbtValue(Object value) {
+        if (value instanceof Number number) {
+            return number(number);
+        } else if (value instanceof String string) {
+            return string(string);
+        } else if (value instanceof NbtMap compound) {
+            return nbtMap(compound);
+        } else if (value instanceof NbtList<?> list) {
+            return nbtList(list);
+        } else if (value instanceof byte[] bytes) {
+            return byteArray(bytes);
+        } else if (value instanceof int[] ints) {
+            return intArray(ints);
+        } else if (value instanceof long[] longs) {
+            return longArray(longs);
         }
-        arrayHasher.putByte(TAG_LONG_ARRAY_END);
-        return arrayHasher.hash();
+        return null;
+    }
+
+    /**
+     * Packs a map entry into a long that sorts like vanilla does, first by key and then by value, both unsigned.
+     * The sign bit is flipped so that a signed sort gives the unsigned order.
+     */
+    private static long entry(HashCode key, HashCode value) {
+        return (((long) key.asInt() << 32) | (value.asInt() & 0xFFFFFFFFL)) ^ Long.MIN_VALUE;
+    }
+
+    private void pushEntry(long entry) {
+        if (entriesTop == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[entriesTop++] = entry;
+    }
+
+    /**
+     * Hashes the map entries pushed since {@code start}.
+     */
+    private HashCode hashEntries(int start) {
+        int size = entriesTop - start;
+        Arrays.sort(entries, start, entriesTop);
+        byte[] bytes = buffer(2 + size * 8);
+        bytes[0] = TAG_MAP_START;
+        for (int i = 0; i < size; i++) {
+            long entry = entries[start + i] ^ Long.MIN_VALUE;
+            INT_HANDLE.set(bytes, 1 + i * 8, (int) (entry >>> 32));
+            INT_HANDLE.set(bytes, 5 + i * 8, (int) entry);
+        }
+        bytes[1 + size * 8] = TAG_MAP_END;
+        return hash(2 + size * 8);
+    }
+
+    /**
+     * @return the buffer, grown to hold at least this many bytes. Its contents are only valid until the next hash.
+     */
+    private byte[] buffer(int length) {
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+        }
+        return buffer;
+    }
+
+    private HashCode hash(int length) {
+        crc.reset();
+        crc.update(buffer, 0, length);
+        return HashCode.fromInt((int) crc.getValue());
     }
 }
@@ -27,17 +27,27 @@ package org.geysermc.geyser.level;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import org.cloudburstmc.math.vector.Vector3i;
-import org.geysermc.erosion.packet.backendbound.BackendboundBatchBlockRequestPacket;
-import org.geysermc.erosion.packet.backendbound.BackendboundBlockRequestPacket;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.geysermc.erosion.util.BlockPositionIterator;
+import org.geysermc.geyser.erosion.ErosionBlockCache;
 import org.geysermc.geyser.erosion.ErosionCancellationException;
+import org.geysermc.geyser.level.block.type.Block;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.mcprotocollib.protocol.data.game.entity.player.GameMode;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class GeyserWorldManager extends WorldManager {
+    /**
+     * How long a blocking lookup may hold up the session's event loop. A stalled backend answers with air instead of
+     * freezing the session; the late answer still ends up in the block mirror for the next lookup.
+     */
+    private static final long LOOKUP_TIMEOUT_MILLIS = 50;
+
     private final Object2ObjectMap<String, String> gameruleCache = new Object2ObjectOpenHashMap<>();
 
     @Override
@@ -48,10 +58,25 @@ public class GeyserWorldManager extends WorldManager {
         } else if (session.isClosed()) {
             throw new ErosionCancellationException();
         }
-        CompletableFuture<Integer> future = new CompletableFuture<>(); // Boxes
-        erosionHandler.setPendingLookup(future);
-        erosionHandler.sendPacket(new BackendboundBlockRequestPacket(0, Vector3i.from(x, y, z)));
-        return future.join();
+        ErosionBlockCache blockCache = erosionHandler.getBlockCache();
+        int blockId = blockCache.get(x, y, z);
+        if (blockId != ErosionBlockCache.MISSING) {
+            return blockId;
+        }
+
+        // Our own chunk cache is empty while Erosion is active, so collision waits a little for the real block.
+        // Whenever the answer arrives, it fills the mirror, unless a block update arrived in the meantime.
+        blockCache.markInFlight(x, y, z);
+        CompletableFuture<Integer> future = erosionHandler.requestBlock(x, y, z);
+        future.whenComplete((answer, throwable) -> {
+            if (throwable == null) {
+                blockCache.completeInFlight(x, y, z, answer);
+            } else {
+                blockCache.cancelInFlight(x, y, z);
+            }
+        });
+        Integer result = await(future);
+        return result != null ? result : Block.JAVA_AIR_ID;
     }
 
     @Override
@@ -62,25 +87,91 @@ public class GeyserWorldManager extends WorldManager {
         } else if (session.isClosed()) {
             return CompletableFuture.failedFuture(new ErosionCancellationException());
         }
-        CompletableFuture<Integer> future = new CompletableFuture<>(); // Boxes
-        int transactionId = erosionHandler.getNextTransactionId();
-        erosionHandler.getAsyncPendingLookups().put(transactionId, future);
-        erosionHandler.sendPacket(new BackendboundBlockRequestPacket(transactionId, Vector3i.from(x, y, z)));
-        return future;
+        int blockId = erosionHandler.getBlockCache().get(x, y, z);
+        if (blockId != ErosionBlockCache.MISSING) {
+            return CompletableFuture.completedFuture(blockId);
+        }
+        return erosionHandler.requestBlock(x, y, z);
     }
 
     @Override
     public int[] getBlocksAt(GeyserSession session, BlockPositionIterator iter) {
         var erosionHandler = session.getErosionHandler().getAsActive();
         if (erosionHandler == null) {
-            return super.getBlocksAt(session, iter);
+            return session.getChunkCache().getBlocksAt(iter);
         } else if (session.isClosed()) {
             throw new ErosionCancellationException();
         }
-        CompletableFuture<int[]> future = new CompletableFuture<>();
-        erosionHandler.setPendingBatchLookup(future);
-        erosionHandler.sendPacket(new BackendboundBatchBlockRequestPacket(iter));
-        return future.join();
+        ErosionBlockCache blockCache = erosionHandler.getBlockCache();
+        int[] blocks = new int[iter.getMaxIterations()];
+        boolean allCached = true;
+        for (iter.reset(); iter.hasNext(); iter.next()) {
+            int blockId = blockCache.get(iter.getX(), iter.getY(), iter.getZ());
+            if (blockId == ErosionBlockCache.MISSING) {
+                allCached = false;
+                break;
+            }
+            blocks[iter.getIteration()] = blockId;
+        }
+        if (allCached) {
+            return blocks;
+        }
+
+        // The answer may arrive after we've stopped waiting, when the caller may be reusing the iterator
+        int[] positions = new int[blocks.length * 3];
+        for (iter.reset(); iter.hasNext(); iter.next()) {
+            int index = iter.getIteration() * 3;
+            positions[index] = iter.getX();
+            positions[index + 1] = iter.getY();
+            positions[index + 2] = iter.getZ();
+            blockCache.markInFlight(iter.getX(), iter.getY(), iter.getZ());
+        }
+
+        CompletableFuture<int[]> future = erosionHandler.requestBlocks(iter);
+        future.whenComplete((answer, throwable) -> {
+            for (int i = 0; i < positions.length; i += 3) {
+                if (throwable == null) {
+                    blockCache.completeInFlight(positions[i], positions[i + 1], positions[i + 2], answer[i / 3]);
+                } else {
+                    blockCache.cancelInFlight(positions[i], positions[i + 1], positions[i + 2]);
+                }
+            }
+        });
+        int[] result = await(future);
+        if (result != null) {
+            return result;
+        }
+
+        // The backend took too long - use what we know, and air for the rest
+        for (iter.reset(); iter.hasNext(); iter.next()) {
+            int blockId = blockCache.get(iter.getX(), iter.getY(), iter.getZ());
+            blocks[iter.getIteration()] = blockId != ErosionBlockCache.MISSING ? blockId : Block.JAVA_AIR_ID;
+        }
+        return blocks;
+    }
+
+    @Override
+    public void prefetchBlocks(GeyserSession session, BlockPositionIterator iter) {
+        var erosionHandler = session.getErosionHandler().getAsActive();
+        if (erosionHandler != null && !session.isClosed()) {
+            erosionHandler.prefetchBlocks(iter);
+        }
+    }
+
+    /**
+     * @return the result, or null if it took longer than {@link #LOOKUP_TIMEOUT_MILLIS}
+     */
+    private static <T> @Nullable T await(CompletableFuture<T> future) {
+        try {
+            return future.get(LOOKUP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ErosionCancellationException();
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        }
     }
 
     @Override
@@ -108,6 +108,16 @@ public abstract class WorldManager {
         return blocks;
     }
 
+    /**
+     * Hints that the blocks in this area are likely to be needed soon, such as the area around a moving player.
+     * World managers that have to ask another server for blocks can request them ahead of time.
+     *
+     * @param session the session of the player
+     * @param iter the blocks to fetch
+     */
+    public void prefetchBlocks(GeyserSession session, BlockPositionIterator iter) {
+    }
+
     /**
      * Checks whether or not this world manager requires a separate chunk cache/has access to more block data than the chunk cache.
      * <p>
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.level.block.type.Block;
+import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.BitStorage;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.GlobalPalette;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.Palette;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.SingletonPalette;
+
+import java.util.Arrays;
+
+/**
+ * Java block states of a chunk section, packed as tightly as block lookups allow.
+ * <p>
+ * A section that only holds one block state has no data of its own and is never modified - {@link #set(int, int, int, int)}
+ * returns the section that should replace it instead. Sections using the global palette store block states directly.
+ */
+public final class CachedChunkSection {
+    /**
+     * A section that only contains air. Shared between all chunks.
+     */
+    public static final CachedChunkSection EMPTY = new CachedChunkSection(Block.JAVA_AIR_ID);
+
+    private static final int SIZE = 4096;
+    /**
+     * The largest amount of palette entries before switching to block states
+     */
+    private static final int MAX_PALETTE_SIZE = 256;
+
+    private final int singletonState;
+    private int bitsShift;
+    private long @Nullable [] data;
+    /**
+     * Null if this section stores block states directly
+     */
+    private int @Nullable [] palette;
+    private int paletteSize;
+
+    private CachedChunkSection(int singletonState) {
+        this.singletonState = singletonState;
+    }
+
+    private CachedChunkSection(int bitsShift, int @Nullable [] palette, int paletteSize) {
+        this.singletonState = Block.JAVA_AIR_ID;
+        this.bitsShift = bitsShift;
+        this.data = new long[(SIZE << bitsShift) >> 6];
+        this.palette = palette;
+        this.paletteSize = paletteSize;
+    }
+
+    public static CachedChunkSection from(DataPalette javaData) {
+        Palette javaPalette = javaData.getPalette();
+        if (javaPalette instanceof SingletonPalette) {
+            return singleton(javaPalette.idToState(0));
+        }
+
+        BitStorage storage = javaData.getStorage();
+        CachedChunkSection section;
+        if (javaPalette instanceof GlobalPalette) {
+            section = new CachedChunkSection(globalBitsShift(), null, 0);
+            for (int index = 0; index < SIZE; index++) {
+                section.write(index, storage.get(index));
+            }
+        } else {
+            int size = javaPalette.size();
+            int[] palette = new int[Math.max(size, 2)];
+            for (int i = 0; i < size; i++) {
+                palette[i] = javaPalette.idToState(i);
+            }
+            section = new CachedChunkSection(bitsShiftFor(size - 1), palette, size);
+            for (int index = 0; index < SIZE; index++) {
+                section.write(index, storage.get(index));
+            }
+        }
+        return section;
+    }
+
+    public static CachedChunkSection singleton(int blockState) {
+        return blockState == Block.JAVA_AIR_ID ? EMPTY : new CachedChunkSection(blockState);
+    }
+
+    public int get(int x, int y, int z) {
+        if (data == null) {
+            return singletonState;
+        }
+        int value = read(index(x, y, z));
+        return palette == null ? value : palette[value];
+    }
+
+    /**
+     * @return the section that now holds this block - either this one, or a copy if this section couldn't be modified
+     */
+    public CachedChunkSection set(int x, int y, int z, int blockState) {
+        CachedChunkSection section = this;
+        if (data == null) {
+            if (blockState == singletonState) {
+                return this;
+            }
+            // Copy on write - palette ID 0 is the existing block
+            section = new CachedChunkSection(0, new int[] {singletonState, blockState}, 2);
+        }
+        section.write(index(x, y, z), section.paletteIdFor(blockState));
+        return section;
+    }
+
+    /**
+     * @return a rough estimate of how many bytes of heap this section takes up
+     */
+    public long estimateMemoryUsage() {
+        if (data == null) {
+            return this == EMPTY ? 0 : 32;
+        }
+        long size = 32 + 16 + (data.length * 8L);
+        if (palette != null) {
+            size += 16 + (palette.length * 4L);
+        }
+        return size;
+    }
+
+    private int paletteIdFor(int blockState) {
+        if (palette == null) {
+            ensureCapacity(blockState);
+            return blockState;
+        }
+        for (int i = 0; i < paletteSize; i++) {
+            if (palette[i] == blockState) {
+                return i;
+            }
+        }
+
+        if (paletteSize == MAX_PALETTE_SIZE) {
+            // Switch to storing block states directly
+            int[] oldPalette = palette;
+            long[] oldData = data;
+            int oldBitsShift = bitsShift;
+            this.palette = null;
+            this.paletteSize = 0;
+            this.bitsShift = Math.max(globalBitsShift(), bitsShiftFor(blockState));
+            this.data = new long[(SIZE << bitsShift) >> 6];
+            for (int index = 0; index < SIZE; index++) {
+                write(index, oldPalette[read(oldData, oldBitsShift, index)]);
+            }
+            return blockState;
+        }
+
+        if (paletteSize == palette.length) {
+            palette = Arrays.copyOf(palette, Math.min(palette.length * 2, MAX_PALETTE_SIZE));
+        }
+        palette[paletteSize] = blockState;
+        ensureCapacity(paletteSize);
+        return paletteSize++;
+    }
+
+    /**
+     * Widens the data so the value can be stored in it
+     */
+    private void ensureCapacity(int value) {
+        int newBitsShift = bitsShiftFor(value);
+        if (newBitsShift <= bitsShift) {
+            return;
+        }
+        long[] oldData = data;
+        int oldBitsShift = bitsShift;
+        this.bitsShift = newBitsShift;
+        this.data = new long[(SIZE << newBitsShift) >> 6];
+        for (int index = 0; index < SIZE; index++) {
+            write(index, read(oldData, oldBitsShift, index));
+        }
+    }
+
+    private int read(int index) {
+        return read(data, bitsShift, index);
+    }
+
+    private static int read(long[] data, int bitsShift, int index) {
+        int bitIndex = index << bitsShift;
+        long mask = (1L << (1 << bitsShift)) - 1;
+        return (int) ((data[bitIndex >> 6] >>> (bitIndex & 63)) & mask);
+    }
+
+    private void write(int index, int value) {
+        int bitIndex = index << bitsShift;
+        int offset = bitIndex & 63;
+        long mask = (1L << (1 << bitsShift)) - 1;
+        //noinspection DataFlowIssue
+        data[bitIndex >> 6] = (data[bitIndex >> 6] & ~(mask << offset)) | ((value & mask) << offset);
+    }
+
+    private static int index(int x, int y, int z) {
+        return y << 8 | z << 4 | x;
+    }
+
+    /**
+     * @return log2 of the bits per entry needed to store this value. Entries are always a power of two wide so they
+     * never cross a long.
+     */
+    private static int bitsShiftFor(int maxValue) {
+        int bits = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(maxValue));
+        return Integer.SIZE - Integer.numberOfLeadingZeros(bits - 1);
+    }
+
+    private static int globalBitsShift() {
+        return bitsShiftFor(BlockRegistries.BLOCK_STATES.get().size() - 1);
+    }
+}
@@ -30,9 +30,25 @@ import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
 /**
  * Acts as a lightweight chunk class that doesn't store biomes, heightmaps or block entities.
  */
-public record GeyserChunk(DataPalette[] sections) {
+public record GeyserChunk(CachedChunkSection[] sections) {
 
-    public static GeyserChunk from(DataPalette[] sections) {
+    public static GeyserChunk from(DataPalette[] javaSections) {
+        CachedChunkSection[] sections = new CachedChunkSection[javaSections.length];
+        for (int i = 0; i < javaSections.length; i++) {
+            DataPalette javaSection = javaSections[i];
+            sections[i] = javaSection == null ? CachedChunkSection.EMPTY : CachedChunkSection.from(javaSection);
+        }
         return new GeyserChunk(sections);
     }
+
+    /**
+     * @return a rough estimate of how many bytes of heap this chunk takes up
+     */
+    public long estimateMemoryUsage() {
+        long size = 16 + 16 + (sections.length * 4L);
+        for (CachedChunkSection section : sections) {
+            size += section.estimateMemoryUsage();
+        }
+        return size;
+    }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.registry.type.BlockMappings;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A cache of encoded Bedrock chunk sections that is shared between all sessions.
+ * <p>
+ * Players on the same server commonly receive the exact same Java chunk section data - for example, around spawn.
+ * Sections are keyed by the hash of their Java bytes, along with everything else that influences the translated
+ * output, so that the palette remapping and re-ordering only has to run once per unique section.
+ * Only sections that don't depend on anything else in the chunk (such as Bedrock-only block entities or
+ * extended collision boxes) are stored.
+ */
+public final class TranslatedChunkSectionCache {
+    private static final HashFunction CONTENT_HASH = Hashing.murmur3_128();
+
+    private static final @Nullable Cache<SectionKey, byte[]> CACHE;
+
+    static {
+        long maxSize = GeyserImpl.getInstance().getConfig().getSharedChunkSectionCacheSize() * 1024L * 1024L;
+        if (maxSize > 0) {
+            CACHE = CacheBuilder.newBuilder()
+                    .expireAfterAccess(10, TimeUnit.MINUTES)
+                    .maximumWeight(maxSize)
+                    .weigher((SectionKey key, byte[] value) -> value.length)
+                    .build();
+        } else {
+            CACHE = null;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return CACHE != null;
+    }
+
+    /**
+     * Creates the key for a Java chunk section.
+     *
+     * @param javaData the Java chunk data the section was read from
+     * @param offset the offset the section starts at
+     * @param length the length of the section in bytes
+     * @param subChunkIndex the Bedrock sub chunk index, as this is encoded into the section
+     */
+    public static SectionKey key(GeyserSession session, byte[] javaData, int offset, int length, int subChunkIndex) {
+        HashCode contentHash = CONTENT_HASH.hashBytes(javaData, offset, length);
+        return new SectionKey(contentHash, subChunkIndex, session.protocolVersion(), session.getBlockMappings());
+    }
+
+    public static byte @Nullable [] get(SectionKey key) {
+        if (CACHE == null) {
+            return null;
+        }
+        return CACHE.getIfPresent(key);
+    }
+
+    /**
+     * Encodes this section and stores it in the cache.
+     *
+     * @return the encoded section
+     */
+    public static byte[] store(SectionKey key, GeyserChunkSection section) {
+        ByteBuf byteBuf = ByteBufAllocator.DEFAULT.heapBuffer(section.estimateNetworkSize());
+        try {
+            section.writeToNetwork(byteBuf);
+            byte[] encoded = ByteBufUtil.getBytes(byteBuf);
+            if (CACHE != null) {
+                CACHE.put(key, encoded);
+            }
+            return encoded;
+        } finally {
+            byteBuf.release();
+        }
+    }
+
+    private TranslatedChunkSectionCache() {
+    }
+
+    public static final class SectionKey {
+        private final HashCode contentHash;
+        private final int subChunkIndex;
+        private final int protocolVersion;
+        private final BlockMappings blockMappings;
+        private final int hashCode;
+
+        private SectionKey(HashCode contentHash, int subChunkIndex, int protocolVersion, BlockMappings blockMappings) {
+            this.contentHash = contentHash;
+            this.subChunkIndex = subChunkIndex;
+            this.protocolVersion = protocolVersion;
+            this.blockMappings = blockMappings;
+            // Block mappings are compared by identity; their own hash code goes through every mapping
+            this.hashCode = 31 * (31 * (31 * contentHash.hashCode() + subChunkIndex) + protocolVersion) + System.identityHashCode(blockMappings);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SectionKey other)) {
+                return false;
+            }
+            return subChunkIndex == other.subChunkIndex && protocolVersion == other.protocolVersion
+                    && blockMappings == other.blockMappings && contentHash.equals(other.contentHash);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk.bitarray;
+
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.BitStorage;
+
+import java.util.BitSet;
+
+/**
+ * Converts the block data of a whole chunk section at once, from the Java long array in YZX order to Bedrock words in
+ * XZY order. Working through a word at a time avoids going through {@link BitStorage#get(int)} and {@link BitArray#set(int, int)}
+ * and their bounds checks for every one of the 4096 blocks.
+ */
+public final class SectionTranscoder {
+    public static final int SECTION_SIZE = 4096;
+
+    /**
+     * Unpacks every entry of a Java section into the array, keeping the Java YZX order.
+     */
+    public static void unpack(BitStorage storage, int[] yzxValues) {
+        long[] data = storage.getData();
+        int bits = storage.getBitsPerEntry();
+        // Java entries never cross a long
+        int valuesPerLong = Long.SIZE / bits;
+        long mask = (1L << bits) - 1;
+
+        int index = 0;
+        for (int i = 0; i < data.length && index < SECTION_SIZE; i++) {
+            long word = data[i];
+            int end = Math.min(index + valuesPerLong, SECTION_SIZE);
+            while (index < end) {
+                yzxValues[index++] = (int) (word & mask);
+                word >>>= bits;
+            }
+        }
+    }
+
+    /**
+     * Writes every entry to the Bedrock bit array in XZY order. Each value must fit in the bit array's version.
+     */
+    public static void packXZY(int[] yzxValues, BitArray bitArray) {
+        BitArrayVersion version = bitArray.getVersion();
+        int[] words = bitArray.getWords();
+        int bits = version.bits;
+        int entriesPerWord = version.entriesPerWord;
+
+        int xzy = 0;
+        for (int i = 0; i < words.length; i++) {
+            int word = 0;
+            int end = Math.min(xzy + entriesPerWord, SECTION_SIZE);
+            for (int offset = 0; xzy < end; xzy++, offset += bits) {
+                word |= yzxValues[xzyToYzx(xzy)] << offset;
+            }
+            words[i] = word;
+        }
+    }
+
+    /**
+     * Writes a {@link BitArrayVersion#V1} array in XZY order, where an entry is 1 if its value is set in the bit set.
+     */
+    public static void packFlagsXZY(int[] yzxValues, BitSet flagged, BitArray bitArray) {
+        int[] words = bitArray.getWords();
+        int xzy = 0;
+        for (int i = 0; i < words.length; i++) {
+            int word = 0;
+            for (int bit = 0; bit < Integer.SIZE; bit++, xzy++) {
+                if (flagged.get(yzxValues[xzyToYzx(xzy)])) {
+                    word |= 1 << bit;
+                }
+            }
+            words[i] = word;
+        }
+    }
+
+    private static int xzyToYzx(int xzy) {
+        return (xzy & 0xF) << 8 | (xzy & 0xF0) | (xzy >> 8);
+    }
+
+    private SectionTranscoder() {
+    }
+}
@@ -121,14 +121,6 @@ public class BoundingBox implements Cloneable {
         return Vector3d.from(middleX, middleY - sizeY / 2, middleZ);
     }
 
-    private boolean checkOverlapInAxis(double xOffset, double yOffset, double zOffset, BoundingBox otherBox, Axis axis) {
-        return switch (axis) {
-            case X -> (sizeX + otherBox.getSizeX()) - Math.abs((middleX + xOffset) - otherBox.getMiddleX()) * 2 > EPSILON;
-            case Y -> (sizeY + otherBox.getSizeY()) - Math.abs((middleY + yOffset) - otherBox.getMiddleY()) * 2 > EPSILON;
-            case Z -> (sizeZ + otherBox.getSizeZ()) - Math.abs((middleZ + zOffset) - otherBox.getMiddleZ()) * 2 > EPSILON;
-        };
-    }
-
     /**
      * Find the maximum offset of another bounding box in an axis that will not collide with this bounding box
      *
@@ -141,21 +133,37 @@ public class BoundingBox implements Cloneable {
      * @return The new max offset
      */
     public double getMaxOffset(double xOffset, double yOffset, double zOffset, BoundingBox otherBoundingBox, Axis axis, double offset) {
+        return getMaxOffset(middleX, middleY, middleZ, sizeX, sizeY, sizeZ, xOffset, yOffset, zOffset, otherBoundingBox, axis, offset);
+    }
+
+    /**
+     * Same as {@link #getMaxOffset(double, double, double, BoundingBox, Axis, double)}, for a bounding box given by its
+     * middle and size. Doesn't allocate, as this runs for every collision box near a moving player.
+     */
+    public static double getMaxOffset(double middleX, double middleY, double middleZ, double sizeX, double sizeY, double sizeZ,
+                                      double xOffset, double yOffset, double zOffset, BoundingBox otherBoundingBox, Axis axis, double offset) {
         // Make sure that the bounding box overlaps in the other axes
-        for (Axis a : Axis.VALUES) {
-            if (a != axis && !checkOverlapInAxis(xOffset, yOffset, zOffset, otherBoundingBox, a)) {
-                return offset;
-            }
+        if (axis != Axis.X && (sizeX + otherBoundingBox.sizeX) - Math.abs((middleX + xOffset) - otherBoundingBox.middleX) * 2 <= EPSILON) {
+            return offset;
+        }
+        if (axis != Axis.Y && (sizeY + otherBoundingBox.sizeY) - Math.abs((middleY + yOffset) - otherBoundingBox.middleY) * 2 <= EPSILON) {
+            return offset;
+        }
+        if (axis != Axis.Z && (sizeZ + otherBoundingBox.sizeZ) - Math.abs((middleZ + zOffset) - otherBoundingBox.middleZ) * 2 <= EPSILON) {
+            return offset;
         }
+        double middle = axis.choose(middleX, middleY, middleZ);
+        double halfSize = axis.choose(sizeX, sizeY, sizeZ) / 2;
+        double axisOffset = axis.choose(xOffset, yOffset, zOffset);
         if (offset > 0) {
-            double min = axis.choose(getMin().add(xOffset, yOffset, zOffset));
-            double max = axis.choose(otherBoundingBox.getMax());
+            double min = (middle - halfSize) + axisOffset;
+            double max = otherBoundingBox.getMax(axis);
             if ((min - max) >= -2.0 * CollisionManager.COLLISION_TOLERANCE) {
                 offset = Math.min(min - max, offset);
             }
         } else if (offset < 0) {
-            double min = axis.choose(otherBoundingBox.getMin());
-            double max = axis.choose(getMax().add(xOffset, yOffset, zOffset));
+            double min = otherBoundingBox.getMin(axis);
+            double max = (middle + halfSize) + axisOffset;
             if ((min - max) >= -2.0 * CollisionManager.COLLISION_TOLERANCE) {
                 offset = Math.max(max - min, offset);
             }
@@ -51,10 +51,7 @@ import org.geysermc.geyser.translator.collision.OtherCollision;
 import org.geysermc.geyser.translator.collision.ScaffoldingCollision;
 import org.geysermc.geyser.translator.collision.SolidCollision;
 import org.geysermc.geyser.util.BlockUtils;
-
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-import java.util.Locale;
+import org.geysermc.geyser.util.MathUtils;
 
 public class CollisionManager {
     public static final BlockCollision SOLID_COLLISION = new SolidCollision(null);
@@ -84,9 +81,8 @@ public class CollisionManager {
     public static final double COLLISION_TOLERANCE = 0.00001;
     /**
      * Trims Y coordinates when jumping to prevent rounding issues being sent to the server.
-     * The locale used is necessary so other regions don't use <code>,</code> as their decimal separator.
      */
-    private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("#.#####", new DecimalFormatSymbols(Locale.ENGLISH));
+    private static final int JUMP_DECIMAL_PLACES = 5;
 
     private static final double PLAYER_STEP_UP = 0.6;
 
@@ -164,12 +160,12 @@ public class CollisionManager {
         if (pistonCache.isPlayerAttachedToHoney()) {
             return null;
         }
-        // We need to parse the float as a string since casting a float to a double causes us to
+        // We need to convert the float through its decimal representation since casting a float to a double causes us to
         // lose precision and thus, causes players to get stuck when walking near walls
         double javaY = bedrockPosition.getY() - EntityDefinitions.PLAYER.offset();
 
-        Vector3d position = Vector3d.from(Double.parseDouble(Float.toString(bedrockPosition.getX())), javaY,
-                Double.parseDouble(Float.toString(bedrockPosition.getZ())));
+        Vector3d position = Vector3d.from(MathUtils.floatToDecimalDouble(bedrockPosition.getX()), javaY,
+                MathUtils.floatToDecimalDouble(bedrockPosition.getZ()));
 
         // Don't correct position if controlling a vehicle
         if (session.getPlayerEntity().getVehicle() instanceof ClientVehicle clientVehicle && clientVehicle.isClientControlled()) {
@@ -211,7 +207,7 @@ public class CollisionManager {
 
         if (!newOnGround) {
             // Trim the position to prevent rounding errors that make Java think we are clipping into a block
-            position = Vector3d.from(position.getX(), Double.parseDouble(DECIMAL_FORMAT.format(position.getY())), position.getZ());
+            position = Vector3d.from(position.getX(), MathUtils.roundHalfEven(position.getY(), JUMP_DECIMAL_PLACES), position.getZ());
         }
 
         return new CollisionResult(position, TriState.byBoolean(onGround));
@@ -271,6 +267,12 @@ public class CollisionManager {
         // Used when correction code needs to be run before the main correction
         BlockPositionIterator iter = session.getCollisionManager().playerCollidableBlocksIterator();
         int[] blocks = session.getGeyser().getWorldManager().getBlocksAt(session, iter);
+        if (session.getErosionHandler().isActive()) {
+            // Ask the backend for the blocks the player can reach next, so they're known by the next movement
+            BoundingBox prefetchBox = playerBoundingBox.clone();
+            prefetchBox.expand(1);
+            session.getGeyser().getWorldManager().prefetchBlocks(session, collidableBlocksIterator(prefetchBox));
+        }
         for (iter.reset(); iter.hasNext(); iter.next()) {
             BlockCollision blockCollision = BlockUtils.getCollision(blocks[iter.getIteration()]);
             if (blockCollision != null) {
@@ -360,21 +362,23 @@ public class CollisionManager {
         BoundingBox movementBoundingBox = boundingBox.clone();
         movementBoundingBox.extend(movement);
         BlockPositionIterator iter = collidableBlocksIterator(movementBoundingBox);
+        // The swept area is the same for every axis, so the blocks only have to be looked up once
+        int[] blocks = checkWorld ? session.getGeyser().getWorldManager().getBlocksAt(session, iter) : null;
         if (Math.abs(movementY) > CollisionManager.COLLISION_TOLERANCE) {
-            movementY = computeCollisionOffset(boundingBox, Axis.Y, movementY, iter, checkWorld, walkOnLava);
+            movementY = computeCollisionOffset(boundingBox, Axis.Y, movementY, iter, blocks, walkOnLava);
             boundingBox.translate(0, movementY, 0);
         }
         boolean checkZFirst = Math.abs(movementZ) > Math.abs(movementX);
         if (checkZFirst && Math.abs(movementZ) > CollisionManager.COLLISION_TOLERANCE) {
-            movementZ = computeCollisionOffset(boundingBox, Axis.Z, movementZ, iter, checkWorld, walkOnLava);
+            movementZ = computeCollisionOffset(boundingBox, Axis.Z, movementZ, iter, blocks, walkOnLava);
             boundingBox.translate(0, 0, movementZ);
         }
         if (Math.abs(movementX) > CollisionManager.COLLISION_TOLERANCE) {
-            movementX = computeCollisionOffset(boundingBox, Axis.X, movementX, iter, checkWorld, walkOnLava);
+            movementX = computeCollisionOffset(boundingBox, Axis.X, movementX, iter, blocks, walkOnLava);
             boundingBox.translate(movementX, 0, 0);
         }
         if (!checkZFirst && Math.abs(movementZ) > CollisionManager.COLLISION_TOLERANCE) {
-            movementZ = computeCollisionOffset(boundingBox, Axis.Z, movementZ, iter, checkWorld, walkOnLava);
+            movementZ = computeCollisionOffset(boundingBox, Axis.Z, movementZ, iter, blocks, walkOnLava);
             boundingBox.translate(0, 0, movementZ);
         }
 
@@ -385,20 +389,24 @@ public class CollisionManager {
         return Vector3d.from(movementX, movementY, movementZ);
     }
 
-    private double computeCollisionOffset(BoundingBox boundingBox, Axis axis, double offset, BlockPositionIterator iter, boolean checkWorld, boolean walkOnLava) {
+    private double computeCollisionOffset(BoundingBox boundingBox, Axis axis, double offset, BlockPositionIterator iter, int[] blocks, boolean walkOnLava) {
+        PistonCache pistonCache = session.getPistonCache();
+        boolean checkPistons = !pistonCache.getMovingBlocksMap().isEmpty();
         for (iter.reset(); iter.hasNext(); iter.next()) {
             int x = iter.getX();
             int y = iter.getY();
             int z = iter.getZ();
-            if (checkWorld) {
-                int blockId = session.getGeyser().getWorldManager().getBlockAt(session, x, y, z);
+            if (blocks != null) {
+                int blockId = blocks[iter.getIteration()];
 
                 BlockCollision blockCollision = walkOnLava ? getCollisionLavaWalking(blockId, y, boundingBox) : BlockUtils.getCollision(blockId);
                 if (blockCollision != null && !(blockCollision instanceof ScaffoldingCollision)) {
                     offset = blockCollision.computeCollisionOffset(x, y, z, boundingBox, axis, offset);
                 }
             }
-            offset = session.getPistonCache().computeCollisionOffset(Vector3i.from(x, y, z), boundingBox, axis, offset);
+            if (checkPistons) {
+                offset = pistonCache.computeCollisionOffset(Vector3i.from(x, y, z), boundingBox, axis, offset);
+            }
             if (Math.abs(offset) < COLLISION_TOLERANCE) {
                 return 0;
             }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.physics;
+
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import org.geysermc.erosion.util.BlockPositionIterator;
+import org.geysermc.geyser.entity.type.ItemEntity;
+import org.geysermc.geyser.erosion.ErosionBlockCache;
+import org.geysermc.geyser.erosion.GeyserboundPacketHandlerImpl;
+import org.geysermc.geyser.session.GeyserSession;
+
+/**
+ * Looks up the blocks that dropped items need for their client-side physics. Items queue themselves when they move,
+ * and all lookups for a session happen together once per tick on the session's event loop, instead of each item
+ * starting its own lookup.
+ */
+public final class ItemEntityPhysics {
+    private final GeyserSession session;
+    private final ReferenceLinkedOpenHashSet<ItemEntity> pending = new ReferenceLinkedOpenHashSet<>();
+
+    public ItemEntityPhysics(GeyserSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Queues the item to have its blocks looked up on the next tick.
+     */
+    public void queue(ItemEntity entity) {
+        pending.add(entity);
+    }
+
+    /**
+     * Runs every queued lookup. Called once per tick, before entities are ticked. Items whose blocks aren't known
+     * yet stay queued for the next tick.
+     */
+    public void tick() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        GeyserboundPacketHandlerImpl erosionHandler = session.getErosionHandler().getAsActive();
+        for (ObjectIterator<ItemEntity> iterator = pending.iterator(); iterator.hasNext(); ) {
+            ItemEntity entity = iterator.next();
+            if (!entity.isValid() || entity.updateBlocks(this, erosionHandler)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Looks up a block without waiting on anything. With Erosion, our own chunk cache is empty, so blocks that
+     * aren't cached yet are requested in the background and {@link ErosionBlockCache#MISSING} is returned.
+     */
+    public int blockAt(GeyserboundPacketHandlerImpl erosionHandler, int x, int y, int z) {
+        if (erosionHandler == null) {
+            return session.getGeyser().getWorldManager().getBlockAt(session, x, y, z);
+        }
+        int blockId = erosionHandler.getBlockCache().get(x, y, z);
+        if (blockId != ErosionBlockCache.MISSING) {
+            return blockId;
+        }
+        if (!session.isClosed()) {
+            erosionHandler.prefetchBlocks(BlockPositionIterator.fromMinMax(x, y, z, x, y, z));
+        }
+        return ErosionBlockCache.MISSING;
+    }
+}
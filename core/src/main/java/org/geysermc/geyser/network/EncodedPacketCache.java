@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.cloudburstmc.protocol.bedrock.codec.BedrockCodec;
+import org.cloudburstmc.protocol.bedrock.codec.BedrockCodecHelper;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.UnknownPacket;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.impl.camera.CameraDefinitions;
+import org.geysermc.geyser.registry.type.BlockMappings;
+import org.geysermc.geyser.registry.type.ItemMappings;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Holds the encoded form of large packets that are sent to every player while logging in and that only depend on
+ * the Bedrock version, such as the creative inventory or the biome definitions. Each packet is encoded once per
+ * Bedrock version, and sent to each session as an {@link UnknownPacket} sharing the same buffer.
+ */
+public final class EncodedPacketCache {
+    private static final Map<CacheKey, EncodedPacket> PACKETS = new ConcurrentHashMap<>();
+
+    private EncodedPacketCache() {
+    }
+
+    /**
+     * @param type the type of packet, which along with the session's Bedrock version decides what packet is returned
+     * @param packetSupplier creates the packet, if it has not been encoded for this Bedrock version yet
+     * @return a packet to send to this session
+     */
+    public static BedrockPacket get(GeyserSession session, Class<? extends BedrockPacket> type, Supplier<BedrockPacket> packetSupplier) {
+        BedrockCodec codec = session.getUpstream().getSession().getCodec();
+        CacheKey key = new CacheKey(codec, session.getItemMappings(), session.getBlockMappings(), type);
+        EncodedPacket encoded = PACKETS.get(key);
+        if (encoded == null) {
+            BedrockPacket packet = packetSupplier.get();
+            try {
+                encoded = PACKETS.computeIfAbsent(key, k -> encode(k, packet));
+            } catch (Exception e) {
+                GeyserImpl.getInstance().getLogger().debug("Unable to encode " + type.getSimpleName() + " ahead of time: " + e.getMessage());
+                return packet;
+            }
+        }
+
+        UnknownPacket packet = new UnknownPacket();
+        packet.setPacketId(encoded.packetId());
+        // Each session gets its own indices; releasing the duplicate does nothing to the shared buffer
+        packet.setPayload(encoded.payload().duplicate());
+        return packet;
+    }
+
+    private static EncodedPacket encode(CacheKey key, BedrockPacket packet) {
+        BedrockCodecHelper helper = key.codec().createHelper();
+        helper.setItemDefinitions(key.itemMappings());
+        helper.setBlockDefinitions(key.blockMappings());
+        helper.setCameraPresetDefinitions(CameraDefinitions.CAMERA_DEFINITIONS);
+
+        ByteBuf buffer = Unpooled.buffer();
+        key.codec().tryEncode(helper, buffer, packet);
+        int packetId = key.codec().getPacketDefinition(packet.getClass()).getId();
+        return new EncodedPacket(packetId, Unpooled.unreleasableBuffer(buffer.asReadOnly()));
+    }
+
+    /**
+     * Mappings are compared by identity, since there is one instance of them per Bedrock version and comparing their
+     * contents would be expensive.
+     */
+    private record CacheKey(BedrockCodec codec, ItemMappings itemMappings, BlockMappings blockMappings, Class<? extends BedrockPacket> type) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CacheKey other && codec == other.codec && itemMappings == other.itemMappings
+                && blockMappings == other.blockMappings && type == other.type;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(codec);
+            result = 31 * result + System.identityHashCode(itemMappings);
+            result = 31 * result + System.identityHashCode(blockMappings);
+            return 31 * result + type.hashCode();
+        }
+    }
+
+    private record EncodedPacket(int packetId, ByteBuf payload) {
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.network.netty.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
+import lombok.RequiredArgsConstructor;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.protocol.bedrock.data.PacketCompressionAlgorithm;
+import org.cloudburstmc.protocol.bedrock.netty.BedrockBatchWrapper;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.Deflater;
+
+/**
+ * Deflates large outgoing batches on a shared executor instead of the channel's event loop, which is shared with
+ * other players. Sits just before the compression codec, which passes batches that are already compressed through.
+ * <p>
+ * Writes stay in order: anything written while a batch is being compressed waits until that batch is done.
+ */
+@RequiredArgsConstructor
+public class CompressionOffloadHandler extends ChannelOutboundHandlerAdapter {
+    public static final String NAME = "geyser-compression-offload";
+    /**
+     * Smaller batches are compressed quicker than they can be handed off
+     */
+    public static final int OFFLOAD_THRESHOLD = 32 * 1024;
+    /**
+     * Prefixed to compressed batches since Bedrock 1.20.60
+     */
+    private static final byte ZLIB_HEADER = 0x00;
+
+    private static final ThreadLocal<Deflater> DEFLATER = new ThreadLocal<>();
+
+    private final Executor executor;
+    private final int compressionLevel;
+
+    private final Deque<PendingWrite> pendingWrites = new ArrayDeque<>();
+    private boolean flushPending;
+    /**
+     * Set on the event loop once pending writes have been released; compressions finishing later discard their result
+     */
+    private boolean removed;
+
+    @Override
+    public void write(@NonNull ChannelHandlerContext ctx, @NonNull Object msg, @NonNull ChannelPromise promise) {
+        if (msg instanceof BedrockBatchWrapper batch && batch.getCompressed() == null && batch.getUncompressed() != null
+                && batch.getUncompressed().readableBytes() >= OFFLOAD_THRESHOLD) {
+            PendingWrite write = new PendingWrite(msg, promise);
+            pendingWrites.add(write);
+            // Kept alive until the task is done with it, even if the handler is removed in the meantime
+            ByteBuf uncompressed = batch.getUncompressed().retain();
+            try {
+                executor.execute(() -> {
+                    ByteBuf compressed = null;
+                    try {
+                        compressed = compress(ctx, uncompressed, compressionLevel);
+                    } catch (Throwable ignored) {
+                        // The compression codec will have another go at it
+                    } finally {
+                        uncompressed.release();
+                    }
+                    ByteBuf result = compressed;
+                    try {
+                        ctx.executor().execute(() -> {
+                            if (removed) {
+                                // The pending write has already been failed and released
+                                ReferenceCountUtil.release(result);
+                                return;
+                            }
+                            write.complete(result);
+                            drain(ctx);
+                        });
+                    } catch (RejectedExecutionException e) {
+                        // The channel's event loop is gone, and the pending write with it
+                        ReferenceCountUtil.release(result);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down; leave it to the compression codec
+                uncompressed.release();
+                write.complete(null);
+                drain(ctx);
+            }
+            return;
+        }
+
+        if (pendingWrites.isEmpty()) {
+            ctx.write(msg, promise);
+        } else {
+            PendingWrite write = new PendingWrite(msg, promise);
+            write.complete(null);
+            pendingWrites.add(write);
+        }
+    }
+
+    @Override
+    public void flush(@NonNull ChannelHandlerContext ctx) {
+        if (pendingWrites.isEmpty()) {
+            ctx.flush();
+        } else {
+            flushPending = true;
+        }
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        removed = true;
+        PendingWrite write;
+        while ((write = pendingWrites.poll()) != null) {
+            ReferenceCountUtil.release(write.compressed);
+            ReferenceCountUtil.release(write.msg);
+            write.promise.tryFailure(new IllegalStateException("Handler removed"));
+        }
+    }
+
+    private void drain(ChannelHandlerContext ctx) {
+        PendingWrite write;
+        while ((write = pendingWrites.peek()) != null && write.done) {
+            pendingWrites.poll();
+            if (write.compressed != null) {
+                // The batch takes ownership of the buffer
+                ((BedrockBatchWrapper) write.msg).setCompressed(write.compressed, PacketCompressionAlgorithm.ZLIB);
+            }
+            ctx.write(write.msg, write.promise);
+        }
+
+        if (pendingWrites.isEmpty() && flushPending) {
+            flushPending = false;
+            ctx.flush();
+        }
+    }
+
+    private static ByteBuf compress(ChannelHandlerContext ctx, ByteBuf uncompressed, int level) {
+        Deflater deflater = DEFLATER.get();
+        if (deflater == null) {
+            deflater = new Deflater(level, true);
+            DEFLATER.set(deflater);
+        } else {
+            deflater.reset();
+            deflater.setLevel(level);
+        }
+
+        ByteBuffer input = uncompressed.nioBuffer(uncompressed.readerIndex(), uncompressed.readableBytes());
+        deflater.setInput(input);
+        deflater.finish();
+
+        ByteBuf compressed = ctx.alloc().ioBuffer(uncompressed.readableBytes() / 2 + 64);
+        try {
+            compressed.writeByte(ZLIB_HEADER);
+            while (!deflater.finished()) {
+                compressed.ensureWritable(8192);
+                ByteBuffer output = compressed.nioBuffer(compressed.writerIndex(), compressed.writableBytes());
+                int written = deflater.deflate(output);
+                compressed.writerIndex(compressed.writerIndex() + written);
+            }
+            return compressed;
+        } catch (Throwable t) {
+            compressed.release();
+            throw t;
+        }
+    }
+
+    private static final class PendingWrite {
+        private final Object msg;
+        private final ChannelPromise promise;
+        private @Nullable ByteBuf compressed;
+        private boolean done;
+
+        private PendingWrite(Object msg, ChannelPromise promise) {
+            this.msg = msg;
+            this.promise = promise;
+        }
+
+        private void complete(@Nullable ByteBuf compressed) {
+            this.compressed = compressed;
+            this.done = true;
+        }
+    }
+}
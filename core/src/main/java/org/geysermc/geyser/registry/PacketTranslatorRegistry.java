@@ -26,7 +26,6 @@
 package org.geysermc.geyser.registry;
 
 import org.cloudburstmc.protocol.bedrock.packet.ServerboundDiagnosticsPacket;
-import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundDelimiterPacket;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundTabListPacket;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundChunkBatchStartPacket;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundLightUpdatePacket;
@@ -47,7 +46,6 @@ public class PacketTranslatorRegistry<T> extends AbstractMappedRegistry<Class<?
 
     static {
         IGNORED_PACKETS.add(ClientboundChunkBatchStartPacket.class); // we don't track chunk batch sizes/periods
-        IGNORED_PACKETS.add(ClientboundDelimiterPacket.class); // Not implemented, spams logs
         IGNORED_PACKETS.add(ClientboundLightUpdatePacket.class); // Light is handled on Bedrock for us
         IGNORED_PACKETS.add(ClientboundTabListPacket.class); // Cant be implemented in Bedrock
         IGNORED_PACKETS.add(ServerboundDiagnosticsPacket.class); // spammy
@@ -66,10 +64,13 @@ public class PacketTranslatorRegistry<T> extends AbstractMappedRegistry<Class<?
         PacketTranslator<P> translator = (PacketTranslator<P>) this.mappings.get(clazz);
         if (translator != null) {
             EventLoop eventLoop = session.getTickEventLoop();
-            if (canRunImmediately || !translator.shouldExecuteInEventLoop() || eventLoop.inEventLoop()) {
+            if (translator.dependsOnChunks() && eventLoop.inEventLoop() && session.getChunkTranslationQueue().hasPending()) {
+                session.getChunkTranslationQueue().runAfterPending(() -> translate0(session, translator, packet));
+            } else if (canRunImmediately || !translator.shouldExecuteInEventLoop() || eventLoop.inEventLoop()) {
                 translate0(session, translator, packet);
             } else {
-                eventLoop.execute(() -> translate0(session, translator, packet));
+                // Dispatched again once on the event loop, where it may still have to wait on pending chunks
+                eventLoop.execute(() -> translate(clazz, packet, session, canRunImmediately));
             }
             return true;
         } else {
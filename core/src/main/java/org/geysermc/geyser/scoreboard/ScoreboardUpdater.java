@@ -25,18 +25,23 @@
 
 package org.geysermc.geyser.scoreboard;
 
-import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.configuration.GeyserConfiguration;
 import org.geysermc.geyser.session.GeyserSession;
-import org.geysermc.geyser.session.cache.WorldCache;
 import org.geysermc.geyser.text.GeyserLocale;
 
-import java.util.Collection;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
 
-public final class ScoreboardUpdater extends Thread {
+/**
+ * Limits how often the scoreboard of a session is sent to the client, for servers that update their scoreboards
+ * very often. While a session receives fewer score and team packets per second than the first threshold, changes
+ * are sent right away. Above it, changes are collected and sent at most every 250 milliseconds, or every second
+ * above the second threshold. Objectives and scores keep track of their own changes, so a batch only sends the
+ * final state of everything that changed in between.
+ * <p>
+ * Everything runs on the session's event loop, and nothing is scheduled while there are no pending changes.
+ */
+public final class ScoreboardUpdater {
     public static final int FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD;
     public static final int SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD = 250;
 
@@ -51,131 +56,81 @@ public final class ScoreboardUpdater extends Thread {
         DEBUG_ENABLED = config.isDebugMode();
     }
 
-    private final GeyserImpl geyser = GeyserImpl.getInstance();
+    private final GeyserSession session;
 
-    private long lastUpdate = System.currentTimeMillis();
-    private long lastPacketsPerSecondUpdate = System.currentTimeMillis();
+    /**
+     * The amount of score packets received in the last full second.
+     */
+    private int packetsPerSecond;
+    /**
+     * The amount of score packets received since {@link #secondStart}.
+     */
+    private int pendingPacketsPerSecond;
+    private long secondStart = System.currentTimeMillis();
 
-    public static void init() {
-        new ScoreboardUpdater().start();
-    }
+    private boolean updateScheduled;
+    private long lastUpdate;
+    private long lastLog;
 
-    @Override
-    public void run() {
-        while (!geyser.isShuttingDown() && !geyser.isReloading()) {
-            try {
-                long timeTillAction = getTimeTillNextAction();
-                if (timeTillAction > 0) {
-                    sleepFor(timeTillAction);
-                    continue;
-                }
-
-                long currentTime = System.currentTimeMillis();
-
-                // reset score-packets per second every second
-                Collection<GeyserSession> sessions = geyser.getSessionManager().getSessions().values();
-                if (currentTime - lastPacketsPerSecondUpdate >= 1000) {
-                    lastPacketsPerSecondUpdate = currentTime;
-                    for (GeyserSession session : sessions) {
-                        ScoreboardSession scoreboardSession = session.getWorldCache().getScoreboardSession();
-
-                        int oldPps = scoreboardSession.getPacketsPerSecond();
-                        int newPps = scoreboardSession.getPendingPacketsPerSecond().get();
-
-                        scoreboardSession.packetsPerSecond = newPps;
-                        scoreboardSession.pendingPacketsPerSecond.set(0);
-
-                        // just making sure that all updates are pushed before giving up control
-                        if (oldPps >= FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD &&
-                                newPps < FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD) {
-                            session.getWorldCache().getScoreboard().onUpdate();
-                        }
-                    }
-                }
-
-                if (currentTime - lastUpdate >= FIRST_MILLIS_BETWEEN_UPDATES) {
-                    lastUpdate = currentTime;
-
-                    for (GeyserSession session : sessions) {
-                        WorldCache worldCache = session.getWorldCache();
-                        ScoreboardSession scoreboardSession = worldCache.getScoreboardSession();
-
-                        int pps = scoreboardSession.getPacketsPerSecond();
-                        if (pps >= FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD) {
-                            boolean reachedSecondThreshold = pps >= SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD;
-
-                            int millisBetweenUpdates = reachedSecondThreshold ?
-                                    SECOND_MILLIS_BETWEEN_UPDATES :
-                                    FIRST_MILLIS_BETWEEN_UPDATES;
-
-                            if (currentTime - scoreboardSession.lastUpdate >= millisBetweenUpdates) {
-                                worldCache.getScoreboard().onUpdate();
-                                scoreboardSession.lastUpdate = currentTime;
-
-                                if (DEBUG_ENABLED && (currentTime - scoreboardSession.lastLog >= 60000)) { // one minute
-                                    int threshold = reachedSecondThreshold ?
-                                            SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD :
-                                            FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD;
-
-                                    geyser.getLogger().info(
-                                            GeyserLocale.getLocaleStringLog("geyser.scoreboard.updater.threshold_reached.log", session.bedrockUsername(), threshold, pps) +
-                                                    GeyserLocale.getLocaleStringLog("geyser.scoreboard.updater.threshold_reached", (millisBetweenUpdates / 1000.0))
-                                    );
-
-                                    scoreboardSession.lastLog = currentTime;
-                                }
-                            }
-                        }
-                    }
-                }
-
-                if (DEBUG_ENABLED) {
-                    long timeSpent = System.currentTimeMillis() - currentTime;
-                    if (timeSpent > 0) {
-                        geyser.getLogger().info(String.format(
-                                "Scoreboard updater: took %s ms. Updated %s players",
-                                timeSpent, sessions.size()
-                        ));
-                    }
-                }
-
-                long timeTillNextAction = getTimeTillNextAction();
-                sleepFor(timeTillNextAction);
-            } catch (Throwable e) {
-                geyser.getLogger().error("Error while translating scoreboard information!", e);
-                // Wait so we don't try to run the scoreboard immediately after this
-                sleepFor(FIRST_MILLIS_BETWEEN_UPDATES);
-            }
-        }
+    public ScoreboardUpdater(GeyserSession session) {
+        this.session = session;
     }
 
-    private long getTimeTillNextAction() {
+    /**
+     * Counts a score or team packet.
+     *
+     * @return the current amount of score packets per second
+     */
+    public int increaseAndGetPacketsPerSecond() {
         long currentTime = System.currentTimeMillis();
-
-        long timeUntilNextUpdate = FIRST_MILLIS_BETWEEN_UPDATES - (currentTime - lastUpdate);
-        long timeUntilPacketReset = 1000 - (currentTime - lastPacketsPerSecondUpdate);
-
-        return Math.min(timeUntilNextUpdate, timeUntilPacketReset);
+        if (currentTime - secondStart >= 1000) {
+            // If no packets arrived during the last full second, the rate is back to zero
+            packetsPerSecond = currentTime - secondStart >= 2000 ? 0 : pendingPacketsPerSecond;
+            pendingPacketsPerSecond = 0;
+            secondStart = currentTime;
+        }
+        return Math.max(packetsPerSecond, ++pendingPacketsPerSecond);
     }
 
-    private void sleepFor(long millis) {
-        if (millis <= 0) {
+    /**
+     * Sends the scoreboard once enough time has passed since the last update. Changes made until then are sent together.
+     */
+    public void scheduleUpdate() {
+        if (updateScheduled) {
             return;
         }
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+        updateScheduled = true;
+
+        int pps = Math.max(packetsPerSecond, pendingPacketsPerSecond);
+        boolean reachedSecondThreshold = pps >= SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD;
+        int millisBetweenUpdates = reachedSecondThreshold ? SECOND_MILLIS_BETWEEN_UPDATES : FIRST_MILLIS_BETWEEN_UPDATES;
+        long delay = Math.max(0, lastUpdate + millisBetweenUpdates - System.currentTimeMillis());
+        session.scheduleInEventLoop(this::update, delay, TimeUnit.MILLISECONDS);
+
+        if (DEBUG_ENABLED) {
+            long currentTime = System.currentTimeMillis();
+            if (currentTime - lastLog >= 60000) { // one minute
+                int threshold = reachedSecondThreshold ?
+                        SECOND_SCORE_PACKETS_PER_SECOND_THRESHOLD :
+                        FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD;
+
+                GeyserImpl.getInstance().getLogger().info(
+                        GeyserLocale.getLocaleStringLog("geyser.scoreboard.updater.threshold_reached.log", session.bedrockUsername(), threshold, pps) +
+                                GeyserLocale.getLocaleStringLog("geyser.scoreboard.updater.threshold_reached", (millisBetweenUpdates / 1000.0))
+                );
+
+                lastLog = currentTime;
+            }
         }
     }
 
-    @RequiredArgsConstructor
-    @Getter
-    public static final class ScoreboardSession {
-        private final GeyserSession session;
-        private final AtomicInteger pendingPacketsPerSecond = new AtomicInteger(0);
-        private int packetsPerSecond;
-        private long lastUpdate;
-        private long lastLog;
+    private void update() {
+        updateScheduled = false;
+        lastUpdate = System.currentTimeMillis();
+        try {
+            session.getWorldCache().getScoreboard().onUpdate();
+        } catch (Throwable e) {
+            GeyserImpl.getInstance().getLogger().error("Error while translating scoreboard information!", e);
+        }
     }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.cloudburstmc.math.vector.Vector3i;
+import org.cloudburstmc.protocol.bedrock.data.BlockChangeEntry;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.UpdateBlockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.UpdateSubChunkBlocksPacket;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Collects {@link UpdateBlockPacket}s that are sent right after each other, and sends them as one
+ * {@link UpdateSubChunkBlocksPacket} per sub-chunk instead. Explosions and large edits otherwise result in
+ * thousands of tiny packets.
+ * <p>
+ * Sub-chunks with only a single update pending are still sent as a plain {@link UpdateBlockPacket}.
+ */
+final class BlockUpdateBatch {
+    /**
+     * Keeps a single batch from growing past what the client is happy to process at once
+     */
+    static final int MAX_UPDATES = 4096;
+
+    private final Long2ObjectMap<List<UpdateBlockPacket>> subChunks = new Long2ObjectLinkedOpenHashMap<>();
+    private int size;
+
+    /**
+     * @return if the batch has reached {@link #MAX_UPDATES} and should be flushed
+     */
+    boolean add(UpdateBlockPacket packet) {
+        Vector3i position = packet.getBlockPosition();
+        subChunks.computeIfAbsent(subChunkKey(position.getX() >> 4, position.getY() >> 4, position.getZ() >> 4), $ -> new ObjectArrayList<>())
+                .add(packet);
+        return ++size >= MAX_UPDATES;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void flush(Consumer<BedrockPacket> sender) {
+        for (List<UpdateBlockPacket> packets : subChunks.values()) {
+            if (packets.size() == 1) {
+                sender.accept(packets.get(0));
+                continue;
+            }
+
+            Vector3i position = packets.get(0).getBlockPosition();
+            UpdateSubChunkBlocksPacket subChunkPacket = new UpdateSubChunkBlocksPacket();
+            subChunkPacket.setChunkX(position.getX() >> 4);
+            subChunkPacket.setChunkY(position.getY() >> 4);
+            subChunkPacket.setChunkZ(position.getZ() >> 4);
+            for (UpdateBlockPacket packet : packets) {
+                BlockChangeEntry entry = new BlockChangeEntry(packet.getBlockPosition(), packet.getDefinition(),
+                        flagsToInt(packet.getFlags()), -1, BlockChangeEntry.MessageType.NONE);
+                if (packet.getDataLayer() == 0) {
+                    subChunkPacket.getStandardBlocks().add(entry);
+                } else {
+                    subChunkPacket.getExtraBlocks().add(entry);
+                }
+            }
+            sender.accept(subChunkPacket);
+        }
+        subChunks.clear();
+        size = 0;
+    }
+
+    private static int flagsToInt(Set<UpdateBlockPacket.Flag> flags) {
+        int value = 0;
+        for (UpdateBlockPacket.Flag flag : flags) {
+            value |= 1 << flag.ordinal();
+        }
+        return value;
+    }
+
+    private static long subChunkKey(int x, int y, int z) {
+        // 26 bits for X and Z, and 12 for Y, like Java Edition block positions
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+}
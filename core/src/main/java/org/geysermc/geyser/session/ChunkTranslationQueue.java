@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session;
+
+import org.geysermc.geyser.GeyserImpl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Keeps chunks that are translated on {@link GeyserImpl#getChunkTranslationExecutor()} in the order the Java server
+ * sent them, along with any packets that have to be handled after those chunks.
+ * <p>
+ * Apart from the submitted work itself, this is only accessed from the session's event loop.
+ */
+public final class ChunkTranslationQueue {
+    private final GeyserSession session;
+    private final Deque<Entry> pending = new ArrayDeque<>();
+
+    public ChunkTranslationQueue(GeyserSession session) {
+        this.session = session;
+    }
+
+    /**
+     * @return if chunks should be submitted to this queue rather than being translated right away
+     */
+    public boolean isAsync() {
+        return session.getGeyser().getChunkTranslationExecutor() != null;
+    }
+
+    /**
+     * @return if a chunk is still being translated, or is waiting on an earlier chunk to be sent
+     */
+    public boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Runs the work on the chunk translation executor, then passes its result to the finisher on the event loop
+     * once everything submitted before it has finished.
+     */
+    public <T> void submit(Supplier<T> work, Consumer<T> finisher) {
+        ExecutorService executor = session.getGeyser().getChunkTranslationExecutor();
+        if (executor == null) {
+            // Geyser was reloaded in between
+            runAfterPending(() -> finisher.accept(work.get()));
+            return;
+        }
+
+        Entry entry = new Entry();
+        pending.add(entry);
+        CompletableFuture.supplyAsync(work, executor).whenComplete((result, throwable) -> session.executeInEventLoop(() -> {
+            if (throwable != null) {
+                session.getGeyser().getLogger().error("Error while translating chunk", throwable);
+            } else {
+                entry.task = () -> finisher.accept(result);
+            }
+            entry.ready = true;
+            drain();
+        }));
+    }
+
+    /**
+     * Runs the task right away if no chunks are pending - otherwise, it will run after all of them have been sent.
+     */
+    public void runAfterPending(Runnable task) {
+        if (pending.isEmpty()) {
+            task.run();
+            return;
+        }
+
+        Entry entry = new Entry();
+        entry.task = task;
+        entry.ready = true;
+        pending.add(entry);
+    }
+
+    private void drain() {
+        Entry entry;
+        while ((entry = pending.peek()) != null && entry.ready) {
+            pending.poll();
+            if (session.isClosed()) {
+                pending.clear();
+                return;
+            }
+
+            if (entry.task != null) {
+                try {
+                    entry.task.run();
+                } catch (Throwable t) {
+                    session.getGeyser().getLogger().error("Error while sending translated chunk", t);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        private Runnable task;
+        private boolean ready;
+    }
+}
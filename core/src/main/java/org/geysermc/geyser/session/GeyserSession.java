@@ -102,6 +102,7 @@ import org.cloudburstmc.protocol.bedrock.packet.TransferPacket;
 import org.cloudburstmc.protocol.bedrock.packet.UpdateAbilitiesPacket;
 import org.cloudburstmc.protocol.bedrock.packet.UpdateAdventureSettingsPacket;
 import org.cloudburstmc.protocol.bedrock.packet.UpdateAttributesPacket;
+import org.cloudburstmc.protocol.bedrock.packet.UpdateBlockPacket;
 import org.cloudburstmc.protocol.bedrock.packet.UpdateClientInputLocksPacket;
 import org.cloudburstmc.protocol.bedrock.packet.UpdateSoftEnumPacket;
 import org.cloudburstmc.protocol.common.util.OptionalBoolean;
@@ -128,7 +129,6 @@ import org.geysermc.geyser.entity.GeyserEntityData;
 import org.geysermc.geyser.entity.attribute.GeyserAttributeType;
 import org.geysermc.geyser.entity.type.BoatEntity;
 import org.geysermc.geyser.entity.type.Entity;
-import org.geysermc.geyser.entity.type.ItemFrameEntity;
 import org.geysermc.geyser.entity.type.Tickable;
 import org.geysermc.geyser.entity.type.player.SessionPlayerEntity;
 import org.geysermc.geyser.entity.vehicle.ClientVehicle;
@@ -150,6 +150,8 @@ import org.geysermc.geyser.item.type.BlockItem;
 import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.level.JavaDimension;
 import org.geysermc.geyser.level.physics.CollisionManager;
+import org.geysermc.geyser.level.physics.ItemEntityPhysics;
+import org.geysermc.geyser.network.EncodedPacketCache;
 import org.geysermc.geyser.network.GameProtocol;
 import org.geysermc.geyser.network.netty.LocalSession;
 import org.geysermc.geyser.registry.Registries;
@@ -160,17 +162,22 @@ import org.geysermc.geyser.session.auth.BedrockClientData;
 import org.geysermc.geyser.session.cache.AdvancementsCache;
 import org.geysermc.geyser.session.cache.BookEditCache;
 import org.geysermc.geyser.session.cache.BundleCache;
+import org.geysermc.geyser.session.cache.ChunkBlobCache;
 import org.geysermc.geyser.session.cache.ChunkCache;
+import org.geysermc.geyser.session.cache.ComponentHashCache;
 import org.geysermc.geyser.session.cache.EntityCache;
 import org.geysermc.geyser.session.cache.EntityEffectCache;
 import org.geysermc.geyser.session.cache.FormCache;
 import org.geysermc.geyser.session.cache.InputCache;
+import org.geysermc.geyser.session.cache.InventoryContentCache;
+import org.geysermc.geyser.session.cache.ItemFrameCache;
 import org.geysermc.geyser.session.cache.LodestoneCache;
 import org.geysermc.geyser.session.cache.PistonCache;
 import org.geysermc.geyser.session.cache.PreferencesCache;
 import org.geysermc.geyser.session.cache.RegistryCache;
 import org.geysermc.geyser.session.cache.SkullCache;
 import org.geysermc.geyser.session.cache.StructureBlockCache;
+import org.geysermc.geyser.session.cache.SubChunkCache;
 import org.geysermc.geyser.session.cache.TagCache;
 import org.geysermc.geyser.session.cache.TeleportCache;
 import org.geysermc.geyser.session.cache.WorldBorder;
@@ -270,16 +277,21 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     private final AdvancementsCache advancementsCache;
     private final BookEditCache bookEditCache;
     private final BundleCache bundleCache;
+    private final ChunkBlobCache chunkBlobCache;
     private final ChunkCache chunkCache;
+    private final ChunkTranslationQueue chunkTranslationQueue;
+    private final ComponentHashCache componentHashCache;
     private final EntityCache entityCache;
     private final EntityEffectCache effectCache;
     private final FormCache formCache;
     private final InputCache inputCache;
+    private final InventoryContentCache inventoryContentCache;
     private final LodestoneCache lodestoneCache;
     private final PistonCache pistonCache;
     private final PreferencesCache preferencesCache;
     private final RegistryCache registryCache;
     private final SkullCache skullCache;
+    private final SubChunkCache subChunkCache;
     private final StructureBlockCache structureBlockCache;
     private final TagCache tagCache;
     private final WorldCache worldCache;
@@ -335,6 +347,11 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
      */
     private final CollisionManager collisionManager;
 
+    /**
+     * Looks up blocks for the client-side physics of dropped items
+     */
+    private final ItemEntityPhysics itemEntityPhysics;
+
     /**
      * Stores the block mappings for this specific version.
      */
@@ -348,10 +365,10 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     private ItemMappings itemMappings;
 
     /**
-     * A map of Vector3i positions to Java entities.
+     * Item frames by their Bedrock block position.
      * Used for translating Bedrock block actions to Java entity actions.
      */
-    private final Map<Vector3i, ItemFrameEntity> itemFrameCache = new Object2ObjectOpenHashMap<>();
+    private final ItemFrameCache itemFrameCache = new ItemFrameCache();
 
     /**
      * A map of all players (and their heads) that are wearing a player head with a custom texture.
@@ -635,6 +652,26 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
      */
     private int ticks;
 
+    /**
+     * Packets sent from the event loop while a batch is open. See {@link #startUpstreamBatch()}.
+     */
+    @Getter(AccessLevel.NONE)
+    private final UpstreamPacketBatch upstreamBatch = new UpstreamPacketBatch();
+    @Getter(AccessLevel.NONE)
+    private int upstreamBatchDepth;
+    /**
+     * The tick a Java bundle was started at, or -1 if the server is not sending a bundle
+     */
+    @Getter(AccessLevel.NONE)
+    private int javaBundleStartTick = -1;
+    /**
+     * Block updates sent from the event loop that haven't been followed by any other packet yet
+     */
+    @Getter(AccessLevel.NONE)
+    private final BlockUpdateBatch blockUpdateBatch = new BlockUpdateBatch();
+    @Getter(AccessLevel.NONE)
+    private boolean blockUpdateFlushScheduled;
+
     /**
      * The world time in ticks according to the server
      * <p>
@@ -699,16 +736,21 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         this.advancementsCache = new AdvancementsCache(this);
         this.bookEditCache = new BookEditCache(this);
         this.bundleCache = new BundleCache(this);
+        this.chunkBlobCache = new ChunkBlobCache(this);
         this.chunkCache = new ChunkCache(this);
+        this.chunkTranslationQueue = new ChunkTranslationQueue(this);
+        this.componentHashCache = new ComponentHashCache(this);
         this.entityCache = new EntityCache(this);
         this.effectCache = new EntityEffectCache();
         this.formCache = new FormCache(this);
         this.inputCache = new InputCache(this);
+        this.inventoryContentCache = new InventoryContentCache(this);
         this.lodestoneCache = new LodestoneCache();
         this.pistonCache = new PistonCache(this);
         this.preferencesCache = new PreferencesCache(this);
         this.registryCache = new RegistryCache(this);
         this.skullCache = new SkullCache(this);
+        this.subChunkCache = new SubChunkCache(this);
         this.structureBlockCache = new StructureBlockCache();
         this.tagCache = new TagCache(this);
         this.worldCache = new WorldCache(this);
@@ -718,6 +760,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         this.worldBorder = new WorldBorder(this);
 
         this.collisionManager = new CollisionManager(this);
+        this.itemEntityPhysics = new ItemEntityPhysics(this);
 
         this.playerEntity = new SessionPlayerEntity(this);
         collisionManager.updatePlayerBoundingBox(this.playerEntity.getPosition());
@@ -774,40 +817,47 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         sentSpawnPacket = true;
         syncEntityProperties();
 
-        if (GameProtocol.isPreCreativeInventoryRewrite(this.protocolVersion())) {
-            ItemComponentPacket componentPacket = new ItemComponentPacket();
-            componentPacket.getItems().addAll(itemMappings.getComponentItemData());
-            upstream.sendPacket(componentPacket);
-        } else {
+        // These are the same for everyone on the same Bedrock version, so they are only encoded once
+        upstream.sendPacket(EncodedPacketCache.get(this, ItemComponentPacket.class, () -> {
             ItemComponentPacket componentPacket = new ItemComponentPacket();
-            componentPacket.getItems().addAll(itemMappings.getItemDefinitions().values());
-            upstream.sendPacket(componentPacket);
-        }
+            if (GameProtocol.isPreCreativeInventoryRewrite(this.protocolVersion())) {
+                componentPacket.getItems().addAll(itemMappings.getComponentItemData());
+            } else {
+                componentPacket.getItems().addAll(itemMappings.getItemDefinitions().values());
+            }
+            return componentPacket;
+        }));
 
         ChunkUtils.sendEmptyChunks(this, playerEntity.getPosition().toInt(), 0, false);
 
-        if (GameProtocol.is1_21_80orHigher(this)) {
-            BiomeDefinitionListPacket biomeDefinitionListPacket = new BiomeDefinitionListPacket();
-            biomeDefinitionListPacket.setBiomes(Registries.BIOMES.get());
-            upstream.sendPacket(biomeDefinitionListPacket);
-        } else {
+        upstream.sendPacket(EncodedPacketCache.get(this, BiomeDefinitionListPacket.class, () -> {
             BiomeDefinitionListPacket biomeDefinitionListPacket = new BiomeDefinitionListPacket();
-            biomeDefinitionListPacket.setDefinitions(Registries.BIOMES_NBT.get());
-            upstream.sendPacket(biomeDefinitionListPacket);
-        }
-
-        AvailableEntityIdentifiersPacket entityPacket = new AvailableEntityIdentifiersPacket();
-        entityPacket.setIdentifiers(Registries.BEDROCK_ENTITY_IDENTIFIERS.get());
-        upstream.sendPacket(entityPacket);
-
-        CameraPresetsPacket cameraPresetsPacket = new CameraPresetsPacket();
-        cameraPresetsPacket.getPresets().addAll(CameraDefinitions.CAMERA_PRESETS);
-        upstream.sendPacket(cameraPresetsPacket);
-
-        CreativeContentPacket creativePacket = new CreativeContentPacket();
-        creativePacket.getContents().addAll(this.itemMappings.getCreativeItems());
-        creativePacket.getGroups().addAll(this.itemMappings.getCreativeItemGroups());
-        upstream.sendPacket(creativePacket);
+            if (GameProtocol.is1_21_80orHigher(this)) {
+                biomeDefinitionListPacket.setBiomes(Registries.BIOMES.get());
+            } else {
+                biomeDefinitionListPacket.setDefinitions(Registries.BIOMES_NBT.get());
+            }
+            return biomeDefinitionListPacket;
+        }));
+
+        upstream.sendPacket(EncodedPacketCache.get(this, AvailableEntityIdentifiersPacket.class, () -> {
+            AvailableEntityIdentifiersPacket entityPacket = new AvailableEntityIdentifiersPacket();
+            entityPacket.setIdentifiers(Registries.BEDROCK_ENTITY_IDENTIFIERS.get());
+            return entityPacket;
+        }));
+
+        upstream.sendPacket(EncodedPacketCache.get(this, CameraPresetsPacket.class, () -> {
+            CameraPresetsPacket cameraPresetsPacket = new CameraPresetsPacket();
+            cameraPresetsPacket.getPresets().addAll(CameraDefinitions.CAMERA_PRESETS);
+            return cameraPresetsPacket;
+        }));
+
+        upstream.sendPacket(EncodedPacketCache.get(this, CreativeContentPacket.class, () -> {
+            CreativeContentPacket creativePacket = new CreativeContentPacket();
+            creativePacket.getContents().addAll(this.itemMappings.getCreativeItems());
+            creativePacket.getGroups().addAll(this.itemMappings.getCreativeItemGroups());
+            return creativePacket;
+        }));
 
         PlayStatusPacket playStatusPacket = new PlayStatusPacket();
         playStatusPacket.setStatus(PlayStatusPacket.Status.PLAYER_SPAWN);
@@ -1101,6 +1151,10 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         // Mark session as closed before cancelling erosion futures
         closed = true;
         erosionHandler.close();
+        if (!tickEventLoop.isShuttingDown()) {
+            // Chunk blobs are only touched on the session's event loop
+            ensureInEventLoop(chunkBlobCache::clear);
+        }
     }
 
     /**
@@ -1161,7 +1215,13 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
      * Called every Minecraft tick.
      */
     protected void tick() {
+        startUpstreamBatch();
         try {
+            if (javaBundleStartTick != -1 && ticks - javaBundleStartTick > 20) {
+                // The server never ended this bundle; don't hold back packets any longer
+                toggleJavaBundle();
+            }
+
             pistonCache.tick();
 
             if (worldBorder.isResizing()) {
@@ -1194,12 +1254,15 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
                 clientVehicle.getVehicleComponent().tickVehicle();
             }
 
+            itemEntityPhysics.tick();
+
             for (Tickable entity : entityCache.getTickableEntities()) {
                 entity.drawTick();
                 if (gameShouldUpdate) {
                     entity.tick();
                 }
             }
+            entityCache.tick();
 
             if (armAnimationTicks >= 0) {
                 // As of 1.18.2 Java Edition, it appears that the swing time is dynamically updated depending on the
@@ -1238,6 +1301,8 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
             }
         } catch (Throwable throwable) {
             throwable.printStackTrace();
+        } finally {
+            endUpstreamBatch();
         }
 
         ticks++;
@@ -1426,7 +1491,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         textPacket.setNeedsTranslation(false);
         textPacket.setMessage(message);
 
-        upstream.sendPacket(textPacket);
+        sendUpstreamPacket(textPacket);
     }
 
     @Override
@@ -1497,7 +1562,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         int renderDistance = ChunkUtils.squareToCircle(this.serverRenderDistance);
         ChunkRadiusUpdatedPacket chunkRadiusUpdatedPacket = new ChunkRadiusUpdatedPacket();
         chunkRadiusUpdatedPacket.setRadius(renderDistance);
-        upstream.sendPacket(chunkRadiusUpdatedPacket);
+        sendUpstreamPacket(chunkRadiusUpdatedPacket);
     }
 
     public InetSocketAddress getSocketAddress() {
@@ -1674,6 +1739,37 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
      * @param packet the bedrock packet from the NukkitX protocol lib
      */
     public void sendUpstreamPacket(BedrockPacket packet) {
+        if (!tickEventLoop.inEventLoop()) {
+            // Sending from here would overtake packets that are being batched on the event loop
+            if (!tickEventLoop.isShuttingDown()) {
+                tickEventLoop.execute(() -> sendUpstreamPacket(packet));
+            }
+            return;
+        }
+
+        inventoryContentCache.onPacketSent(packet);
+        if (packet instanceof UpdateBlockPacket updateBlockPacket) {
+            if (blockUpdateBatch.add(updateBlockPacket)) {
+                flushBlockUpdates();
+            } else if (!blockUpdateFlushScheduled) {
+                // Runs once every packet that has already arrived is translated, so a burst of updates is sent together
+                blockUpdateFlushScheduled = true;
+                tickEventLoop.execute(this::flushBlockUpdates);
+            }
+            return;
+        }
+        // Anything sent after block updates may depend on them, such as block entity data
+        flushBlockUpdates();
+        queueUpstreamPacket(packet);
+    }
+
+    private void queueUpstreamPacket(BedrockPacket packet) {
+        if (upstreamBatchDepth > 0) {
+            if (upstreamBatch.add(packet)) {
+                upstreamBatch.flush(upstream::sendPacket);
+            }
+            return;
+        }
         upstream.sendPacket(packet);
     }
 
@@ -1683,9 +1779,64 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
      * @param packet the bedrock packet from the NukkitX protocol lib
      */
     public void sendUpstreamPacketImmediately(BedrockPacket packet) {
+        if (packet instanceof UpdateBlockPacket && !tickEventLoop.inEventLoop()) {
+            // A batched update for the same block may still be waiting on the event loop, and must not be sent after this one
+            if (!tickEventLoop.isShuttingDown()) {
+                tickEventLoop.execute(() -> sendUpstreamPacketImmediately(packet));
+            }
+            return;
+        }
+        if (tickEventLoop.inEventLoop()) {
+            inventoryContentCache.onPacketSent(packet);
+            // Keep the packet order intact
+            flushBlockUpdates();
+            if (upstreamBatchDepth > 0) {
+                upstreamBatch.flush(upstream::sendPacket);
+            }
+        } else if (!tickEventLoop.isShuttingDown()) {
+            // The content cache is only touched on the event loop, so it can't record this packet
+            tickEventLoop.execute(inventoryContentCache::clear);
+        }
         upstream.sendPacketImmediately(packet);
     }
 
+    /**
+     * Sends block updates that were held back to be combined per sub-chunk. See {@link BlockUpdateBatch}.
+     */
+    private void flushBlockUpdates() {
+        blockUpdateFlushScheduled = false;
+        if (!blockUpdateBatch.isEmpty()) {
+            blockUpdateBatch.flush(this::queueUpstreamPacket);
+        }
+    }
+
+    /**
+     * Collects packets sent from the event loop until the matching {@link #endUpstreamBatch()}, so they reach the
+     * network layer together and redundant entity updates can be merged. Batches can be nested.
+     */
+    public void startUpstreamBatch() {
+        upstreamBatchDepth++;
+    }
+
+    public void endUpstreamBatch() {
+        if (upstreamBatchDepth > 0 && --upstreamBatchDepth == 0) {
+            upstreamBatch.flush(upstream::sendPacket);
+        }
+    }
+
+    /**
+     * Called for each Java bundle delimiter. All packets of a bundle are sent to the Bedrock client in one batch.
+     */
+    public void toggleJavaBundle() {
+        if (javaBundleStartTick == -1) {
+            javaBundleStartTick = ticks;
+            startUpstreamBatch();
+        } else {
+            javaBundleStartTick = -1;
+            endUpstreamBatch();
+        }
+    }
+
     /**
      * Send a packet to the remote server if in the game state.
      *
@@ -1796,7 +1947,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     public void sendGameRule(String gameRule, Object value) {
         GameRulesChangedPacket gameRulesChangedPacket = new GameRulesChangedPacket();
         gameRulesChangedPacket.getGameRules().add(new GameRuleData<>(gameRule, value));
-        upstream.sendPacket(gameRulesChangedPacket);
+        sendUpstreamPacket(gameRulesChangedPacket);
     }
 
     private static final Ability[] USED_ABILITIES = Ability.values();
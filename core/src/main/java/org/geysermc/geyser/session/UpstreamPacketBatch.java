@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session;
+
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.cloudburstmc.protocol.bedrock.packet.AddEntityPacket;
+import org.cloudburstmc.protocol.bedrock.packet.AddItemEntityPacket;
+import org.cloudburstmc.protocol.bedrock.packet.AddPaintingPacket;
+import org.cloudburstmc.protocol.bedrock.packet.AddPlayerPacket;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.MoveEntityAbsolutePacket;
+import org.cloudburstmc.protocol.bedrock.packet.MoveEntityDeltaPacket;
+import org.cloudburstmc.protocol.bedrock.packet.MovePlayerPacket;
+import org.cloudburstmc.protocol.bedrock.packet.RemoveEntityPacket;
+import org.cloudburstmc.protocol.bedrock.packet.SetEntityDataPacket;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Collects the packets sent to the Bedrock client between {@link GeyserSession#startUpstreamBatch()} and
+ * {@link GeyserSession#endUpstreamBatch()}, so they are handed to the network layer together.
+ * <p>
+ * Within one batch, an earlier {@link MoveEntityDeltaPacket} for the same entity is merged into the newer one, so only
+ * the final movement state is written, and a {@link SetEntityDataPacket} is merged into an earlier one for the same entity.
+ */
+final class UpstreamPacketBatch {
+    /**
+     * Matches the limit of a Java bundle
+     */
+    static final int MAX_PACKETS = 4096;
+
+    private final List<BedrockPacket> packets = new ObjectArrayList<>();
+    private final Long2IntMap moveIndexes = new Long2IntOpenHashMap();
+    private final Long2IntMap dataIndexes = new Long2IntOpenHashMap();
+
+    UpstreamPacketBatch() {
+        moveIndexes.defaultReturnValue(-1);
+        dataIndexes.defaultReturnValue(-1);
+    }
+
+    /**
+     * @return if the batch has reached {@link #MAX_PACKETS} and should be flushed
+     */
+    boolean add(BedrockPacket packet) {
+        if (packet instanceof MoveEntityDeltaPacket movePacket) {
+            int previousIndex = moveIndexes.put(movePacket.getRuntimeEntityId(), packets.size());
+            if (previousIndex != -1 && packets.get(previousIndex) instanceof MoveEntityDeltaPacket previous) {
+                mergeMovement(movePacket, previous);
+                packets.set(previousIndex, null);
+            }
+        } else if (packet instanceof SetEntityDataPacket dataPacket && hasNoProperties(dataPacket)) {
+            int previousIndex = dataIndexes.put(dataPacket.getRuntimeEntityId(), packets.size());
+            if (previousIndex != -1 && packets.get(previousIndex) instanceof SetEntityDataPacket previous) {
+                // Move the earlier packet here, with the newer values taking priority
+                packets.set(previousIndex, null);
+                previous.getMetadata().putAll(dataPacket.getMetadata());
+                previous.setTick(dataPacket.getTick());
+                packet = previous;
+            }
+        } else if (packet instanceof SetEntityDataPacket dataPacket) {
+            // Entity properties are applied in order, so these can't be merged
+            dataIndexes.remove(dataPacket.getRuntimeEntityId());
+        } else {
+            long positionedEntityId = positionedEntityId(packet);
+            if (positionedEntityId != -1) {
+                // The entity's position was set by other means; an earlier delta must not be merged past this packet
+                moveIndexes.remove(positionedEntityId);
+            }
+        }
+
+        packets.add(packet);
+        return packets.size() >= MAX_PACKETS;
+    }
+
+    void flush(Consumer<BedrockPacket> sender) {
+        for (BedrockPacket packet : packets) {
+            if (packet != null) {
+                sender.accept(packet);
+            }
+        }
+        packets.clear();
+        moveIndexes.clear();
+        dataIndexes.clear();
+    }
+
+    /**
+     * Copies the values the previous packet set into the newer packet, unless the newer packet sets them as well.
+     * Delta packets carry absolute values, so the newer packet then holds the final state of both.
+     */
+    private static void mergeMovement(MoveEntityDeltaPacket packet, MoveEntityDeltaPacket previous) {
+        Set<MoveEntityDeltaPacket.Flag> flags = packet.getFlags();
+        for (MoveEntityDeltaPacket.Flag flag : previous.getFlags()) {
+            if (flags.contains(flag)) {
+                continue;
+            }
+            switch (flag) {
+                case HAS_X -> packet.setX(previous.getX());
+                case HAS_Y -> packet.setY(previous.getY());
+                case HAS_Z -> packet.setZ(previous.getZ());
+                case HAS_PITCH -> packet.setPitch(previous.getPitch());
+                case HAS_YAW -> packet.setYaw(previous.getYaw());
+                case HAS_HEAD_YAW -> packet.setHeadYaw(previous.getHeadYaw());
+                // The newer packet knows whether the entity is on the ground
+                case ON_GROUND -> {
+                    continue;
+                }
+                // A teleport must not be lost by the previous packet being dropped
+                default -> {
+                }
+            }
+            flags.add(flag);
+        }
+    }
+
+    /**
+     * @return the entity whose position this packet sets or resets, other than a delta, or -1
+     */
+    private static long positionedEntityId(BedrockPacket packet) {
+        if (packet instanceof MoveEntityAbsolutePacket movePacket) {
+            return movePacket.getRuntimeEntityId();
+        } else if (packet instanceof MovePlayerPacket movePacket) {
+            return movePacket.getRuntimeEntityId();
+        } else if (packet instanceof AddEntityPacket addPacket) {
+            return addPacket.getRuntimeEntityId();
+        } else if (packet instanceof AddItemEntityPacket addPacket) {
+            return addPacket.getRuntimeEntityId();
+        } else if (packet instanceof AddPlayerPacket addPacket) {
+            return addPacket.getRuntimeEntityId();
+        } else if (packet instanceof AddPaintingPacket addPacket) {
+            return addPacket.getRuntimeEntityId();
+        } else if (packet instanceof RemoveEntityPacket removePacket) {
+            // Geyser uses the same ID for the unique and runtime entity IDs
+            return removePacket.getUniqueEntityId();
+        }
+        return -1;
+    }
+
+    private static boolean hasNoProperties(SetEntityDataPacket packet) {
+        return packet.getProperties().getIntProperties().isEmpty() && packet.getProperties().getFloatProperties().isEmpty();
+    }
+}
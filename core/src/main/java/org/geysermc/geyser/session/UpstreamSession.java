@@ -25,6 +25,7 @@
 
 package org.geysermc.geyser.session;
 
+import io.netty.util.ReferenceCountUtil;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -48,12 +49,17 @@ public class UpstreamSession {
     public void sendPacket(@NonNull BedrockPacket packet) {
         if (!isClosed()) {
             session.sendPacket(packet);
+        } else {
+            // Packets such as LevelChunkPacket may hold pooled buffers that would otherwise be released after encoding
+            ReferenceCountUtil.release(packet);
         }
     }
 
     public void sendPacketImmediately(@NonNull BedrockPacket packet) {
         if (!isClosed()) {
             session.sendPacketImmediately(packet);
+        } else {
+            ReferenceCountUtil.release(packet);
         }
     }
 
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongList;
+import lombok.Setter;
+import org.cloudburstmc.protocol.bedrock.packet.ClientCacheMissResponsePacket;
+import org.geysermc.geyser.session.GeyserSession;
+
+/**
+ * Keeps track of chunk blobs that were sent through the Bedrock client blob cache.
+ * <p>
+ * When caching is used, a LevelChunkPacket only contains the hashes of its sub-chunks and biomes. The client then
+ * responds with which of those blobs it already has stored and which ones it is missing, and we have to hold onto
+ * the blob data until that response arrives. The client doesn't respond for chunks it drops before it gets to them,
+ * so blobs that haven't been referenced in a while are forgotten.
+ */
+public final class ChunkBlobCache {
+    private static final HashFunction BLOB_HASH = Hashing.murmur3_128();
+    /**
+     * Blobs are usually acknowledged within moments, so this is well above what is outstanding at once
+     */
+    private static final int MAX_PENDING_BLOBS = 8192;
+    private static final long MAX_PENDING_MILLIS = 30_000;
+
+    private final GeyserSession session;
+    /**
+     * Ordered by when each blob was last referenced by a chunk, oldest first
+     */
+    private final Long2ObjectLinkedOpenHashMap<PendingBlob> pendingBlobs = new Long2ObjectLinkedOpenHashMap<>();
+
+    /**
+     * Set from the client's ClientCacheStatusPacket. Not all platforms support the blob cache.
+     */
+    @Setter
+    private boolean clientSupported;
+
+    public ChunkBlobCache(GeyserSession session) {
+        this.session = session;
+    }
+
+    /**
+     * @return if chunks for this session should be sent using the blob cache
+     */
+    public boolean isEnabled() {
+        return clientSupported && session.getGeyser().getConfig().isEnableChunkCaching();
+    }
+
+    /**
+     * Stores the readable bytes of this buffer until the client has acknowledged them, and adds the blob ID to the
+     * chunk's blob IDs. The buffer's reader index is advanced.
+     *
+     * @param chunkBlobIds the blob IDs of the chunk packet so far
+     */
+    public void addBlob(ByteBuf buffer, LongList chunkBlobIds) {
+        byte[] data = ByteBufUtil.getBytes(buffer);
+        buffer.skipBytes(data.length);
+
+        long blobId = BLOB_HASH.hashBytes(data).asLong();
+        long now = System.currentTimeMillis();
+        PendingBlob pending = pendingBlobs.getAndMoveToLast(blobId);
+        if (pending == null) {
+            pendingBlobs.putAndMoveToLast(blobId, new PendingBlob(data, now));
+            evictStale(now);
+        } else {
+            pending.lastReferenced = now;
+            if (!chunkBlobIds.contains(blobId)) {
+                // The same blob is referenced by several chunks that haven't been acknowledged yet.
+                // The client acknowledges each blob once per chunk, no matter how often the chunk uses it.
+                pending.references++;
+            }
+        }
+        chunkBlobIds.add(blobId);
+    }
+
+    /**
+     * Handles the client's response to a cached chunk, sending any blobs the client does not have yet.
+     *
+     * @param missingBlobs the blobs the client needs the data of
+     * @param receivedBlobs the blobs the client already has stored
+     */
+    public void onBlobStatus(LongList missingBlobs, LongList receivedBlobs) {
+        for (int i = 0; i < receivedBlobs.size(); i++) {
+            release(receivedBlobs.getLong(i));
+        }
+
+        if (missingBlobs.isEmpty()) {
+            return;
+        }
+
+        ClientCacheMissResponsePacket responsePacket = new ClientCacheMissResponsePacket();
+        for (int i = 0; i < missingBlobs.size(); i++) {
+            long blobId = missingBlobs.getLong(i);
+            PendingBlob pending = pendingBlobs.get(blobId);
+            if (pending == null) {
+                session.getGeyser().getLogger().debug("Client requested unknown chunk blob " + blobId);
+                continue;
+            }
+            responsePacket.getBlobs().put(blobId, Unpooled.wrappedBuffer(pending.data));
+            release(blobId);
+        }
+
+        if (!responsePacket.getBlobs().isEmpty()) {
+            session.sendUpstreamPacket(responsePacket);
+        }
+    }
+
+    /**
+     * Forgets every pending blob, such as when the client drops all of its chunks on a dimension change.
+     */
+    public void clear() {
+        pendingBlobs.clear();
+    }
+
+    private void evictStale(long now) {
+        while (pendingBlobs.size() > MAX_PENDING_BLOBS
+                || now - pendingBlobs.get(pendingBlobs.firstLongKey()).lastReferenced > MAX_PENDING_MILLIS) {
+            pendingBlobs.removeFirst();
+        }
+    }
+
+    private void release(long blobId) {
+        PendingBlob pending = pendingBlobs.get(blobId);
+        if (pending != null && --pending.references <= 0) {
+            pendingBlobs.remove(blobId);
+        }
+    }
+
+    private static final class PendingBlob {
+        private final byte[] data;
+        private int references = 1;
+        private long lastReferenced;
+
+        private PendingBlob(byte[] data, long lastReferenced) {
+            this.data = data;
+            this.lastReferenced = lastReferenced;
+        }
+    }
+}
@@ -27,8 +27,11 @@ package org.geysermc.geyser.session.cache;
 
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import lombok.Getter;
 import lombok.Setter;
+import org.geysermc.erosion.util.BlockPositionIterator;
 import org.geysermc.geyser.level.block.type.Block;
+import org.geysermc.geyser.level.chunk.CachedChunkSection;
 import org.geysermc.geyser.level.chunk.GeyserChunk;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.util.MathUtils;
@@ -37,6 +40,11 @@ import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
 public class ChunkCache {
     private final boolean cache;
     private final Long2ObjectMap<GeyserChunk> chunks;
+    /**
+     * A rough estimate of how many bytes of heap the cached chunks take up. Only written to from the session's event loop.
+     */
+    @Getter
+    private volatile long memoryUsage;
 
     @Setter
     private int minY;
@@ -55,7 +63,12 @@ public class ChunkCache {
 
         long chunkPosition = MathUtils.chunkPositionToLong(x, z);
         GeyserChunk geyserChunk = GeyserChunk.from(chunks);
-        this.chunks.put(chunkPosition, geyserChunk);
+        GeyserChunk previous = this.chunks.put(chunkPosition, geyserChunk);
+        long usage = memoryUsage + geyserChunk.estimateMemoryUsage();
+        if (previous != null) {
+            usage -= previous.estimateMemoryUsage();
+        }
+        memoryUsage = usage;
     }
 
     /**
@@ -81,21 +94,13 @@ public class ChunkCache {
             return;
         }
 
-        DataPalette palette = chunk.sections()[(y - minY) >> 4];
-        if (palette == null) {
-            if (block != Block.JAVA_AIR_ID) {
-                // A previously empty chunk, which is no longer empty as a block has been added to it
-                palette = DataPalette.createForChunk();
-                // Fixes the chunk assuming that all blocks is the `block` variable we are updating. /shrug
-                palette.getPalette().stateToId(Block.JAVA_AIR_ID);
-                chunk.sections()[(y - minY) >> 4] = palette;
-            } else {
-                // Nothing to update
-                return;
-            }
-        }
-
-        palette.set(x & 0xF, y & 0xF, z & 0xF, block);
+        int sectionY = (y - minY) >> 4;
+        CachedChunkSection section = chunk.sections()[sectionY];
+        long usageBefore = section.estimateMemoryUsage();
+        // Sections holding a single block, such as empty sections, are replaced by a copy once they're modified
+        section = section.set(x & 0xF, y & 0xF, z & 0xF, block);
+        chunk.sections()[sectionY] = section;
+        memoryUsage += section.estimateMemoryUsage() - usageBefore;
     }
 
     public int getBlockAt(int x, int y, int z) {
@@ -113,12 +118,42 @@ public class ChunkCache {
             return Block.JAVA_AIR_ID;
         }
 
-        DataPalette chunk = column.sections()[(y - minY) >> 4];
-        if (chunk != null) {
-            return chunk.get(x & 0xF, y & 0xF, z & 0xF);
+        return column.sections()[(y - minY) >> 4].get(x & 0xF, y & 0xF, z & 0xF);
+    }
+
+    /**
+     * Reads every block of the iterator, only looking up the chunk again once the iterator moves into another one.
+     *
+     * @return the blocks, indexed by {@link BlockPositionIterator#getIteration()}
+     */
+    public int[] getBlocksAt(BlockPositionIterator iter) {
+        int[] blocks = new int[iter.getMaxIterations()];
+        if (!cache) {
+            return blocks;
         }
 
-        return Block.JAVA_AIR_ID;
+        GeyserChunk column = null;
+        int columnX = 0;
+        int columnZ = 0;
+        boolean columnLoaded = false;
+        for (iter.reset(); iter.hasNext(); iter.next()) {
+            int x = iter.getX();
+            int y = iter.getY();
+            int z = iter.getZ();
+            if (!columnLoaded || columnX != x >> 4 || columnZ != z >> 4) {
+                columnX = x >> 4;
+                columnZ = z >> 4;
+                column = this.getChunk(columnX, columnZ);
+                columnLoaded = true;
+            }
+
+            if (column == null || y < minY || ((y - minY) >> 4) > column.sections().length - 1) {
+                blocks[iter.getIteration()] = Block.JAVA_AIR_ID;
+                continue;
+            }
+            blocks[iter.getIteration()] = column.sections()[(y - minY) >> 4].get(x & 0xF, y & 0xF, z & 0xF);
+        }
+        return blocks;
     }
 
     public void removeChunk(int chunkX, int chunkZ) {
@@ -127,7 +162,10 @@ public class ChunkCache {
         }
 
         long chunkPosition = MathUtils.chunkPositionToLong(chunkX, chunkZ);
-        chunks.remove(chunkPosition);
+        GeyserChunk removed = chunks.remove(chunkPosition);
+        if (removed != null) {
+            memoryUsage -= removed.estimateMemoryUsage();
+        }
     }
 
     /**
@@ -141,6 +179,7 @@ public class ChunkCache {
         }
 
         chunks.clear();
+        memoryUsage = 0;
     }
 
     public int getChunkMinY() {
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import lombok.Getter;
+import org.geysermc.geyser.item.hashing.DataComponentHashers;
+import org.geysermc.geyser.item.hashing.MinecraftHashEncoder;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.mcprotocollib.protocol.data.game.item.component.DataComponentType;
+
+/**
+ * Remembers the hashes of item data components that were sent to the server in item stack hashes.
+ * <p>
+ * Clicking around in an inventory hashes the same components over and over, and hashing large components, such as
+ * custom data or enchantments, is not cheap. Hashes depend on the session's registries, so this starts over when the
+ * {@link RegistryCache#getGeneration() registry generation} changes.
+ * <p>
+ * Values are remembered by identity rather than by equality: component values such as lists and NBT can be mutated
+ * in place, which would corrupt a hash map keyed on their contents, while a value decoded from a packet stays the
+ * same object for as long as the item stack holding it is around.
+ */
+public final class ComponentHashCache {
+    /**
+     * How many values of one component type to remember before starting over.
+     */
+    private static final int MAX_VALUES_PER_TYPE = 256;
+
+    private final GeyserSession session;
+    /**
+     * Reuses its buffers between hashes, so it's only used on the session's event loop.
+     */
+    @Getter
+    private final MinecraftHashEncoder encoder;
+    private final Reference2ObjectMap<DataComponentType<?>, Reference2IntMap<Object>> hashes = new Reference2ObjectOpenHashMap<>();
+    private int generation;
+
+    public ComponentHashCache(GeyserSession session) {
+        this.session = session;
+        this.encoder = new MinecraftHashEncoder(session);
+    }
+
+    /**
+     * @return the hash of this component value, as sent to the server
+     */
+    public <T> int hash(DataComponentType<T> type, T value) {
+        int currentGeneration = session.getRegistryCache().getGeneration();
+        if (generation != currentGeneration) {
+            hashes.clear();
+            generation = currentGeneration;
+        }
+
+        Reference2IntMap<Object> values = hashes.get(type);
+        if (values == null) {
+            values = new Reference2IntOpenHashMap<>();
+            hashes.put(type, values);
+        } else if (values.containsKey(value)) {
+            return values.getInt(value);
+        }
+
+        int hash = DataComponentHashers.hash(encoder, type, value).asInt();
+        if (values.size() >= MAX_VALUES_PER_TYPE) {
+            values.clear();
+        }
+        values.put(value, hash);
+        return hash;
+    }
+}
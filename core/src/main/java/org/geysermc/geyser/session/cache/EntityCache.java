@@ -31,15 +31,22 @@ import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceSet;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
 import lombok.Getter;
+import org.cloudburstmc.math.vector.Vector3f;
 import org.geysermc.geyser.entity.type.Entity;
+import org.geysermc.geyser.entity.type.LivingEntity;
 import org.geysermc.geyser.entity.type.Tickable;
+import org.geysermc.geyser.entity.type.living.ArmorStandEntity;
+import org.geysermc.geyser.entity.type.living.monster.EnderDragonEntity;
 import org.geysermc.geyser.entity.type.player.PlayerEntity;
 import org.geysermc.geyser.session.GeyserSession;
 
@@ -60,11 +67,26 @@ public class EntityCache {
     private final Map<UUID, PlayerEntity> playerEntities = new Object2ObjectOpenHashMap<>();
     private final Map<UUID, BossBar> bossBars = new Object2ObjectOpenHashMap<>();
 
+    /**
+     * Entities that are cached, but not spawned for the client yet because they are too far away.
+     */
+    private final ReferenceSet<Entity> deferredEntities = new ReferenceOpenHashSet<>();
+    /**
+     * Entities with a movement update that was held back because they are far away.
+     */
+    private final ReferenceSet<Entity> heldMovementEntities = new ReferenceOpenHashSet<>();
+    /**
+     * The squared entity view distance in blocks, or 0 if all entities are sent as the server does.
+     */
+    private final int viewDistanceSquared;
+
     @Getter
     private final AtomicLong nextEntityId = new AtomicLong(2L);
 
     public EntityCache(GeyserSession session) {
         this.session = session;
+        int viewDistance = Math.max(0, session.getGeyser().getConfig().getEntityViewDistance());
+        this.viewDistanceSquared = viewDistance * viewDistance;
     }
 
     public void spawnEntity(Entity entity) {
@@ -74,6 +96,12 @@ public class EntityCache {
             // empty) with the entity spawn packet (which also includes metadata). Resulting in 1 less packet sent.
             session.getWorldCache().getScoreboard().entityRegistered(entity);
 
+            if (isManaged(entity) && distanceSquared(entity) > viewDistanceSquared) {
+                // Metadata keeps piling up until the entity is spawned
+                deferredEntities.add(entity);
+                return;
+            }
+
             entity.spawnEntity();
 
             if (entity instanceof Tickable) {
@@ -83,6 +111,119 @@ public class EntityCache {
         }
     }
 
+    /**
+     * Spawns the entity right away if it was too far away to be spawned so far, such as when it is linked to another entity.
+     */
+    public void ensureSpawned(Entity entity) {
+        if (deferredEntities.remove(entity)) {
+            spawnDeferred(entity);
+        }
+    }
+
+    private void spawnDeferred(Entity entity) {
+        entity.spawnEntity();
+        entity.updateAfterDeferredSpawn();
+
+        if (entity instanceof Tickable) {
+            tickableEntities.add((Tickable) entity);
+        }
+    }
+
+    /**
+     * @return true if the entity has not been spawned for the client yet, because it is too far away
+     */
+    public boolean isDeferred(Entity entity) {
+        return !deferredEntities.isEmpty() && deferredEntities.contains(entity);
+    }
+
+    /**
+     * Decides whether a movement update of this entity should be held back. Entities in the inner half of the entity
+     * view distance get every update, entities further out get one every two or four ticks. The latest position of held
+     * back entities is sent by {@link #tick()}.
+     *
+     * @return true if the movement update should not be sent now
+     */
+    public boolean holdMovement(Entity entity) {
+        if (viewDistanceSquared == 0) {
+            return false;
+        }
+        if (isDeferred(entity)) {
+            return true;
+        }
+        if (!isManaged(entity) || !entity.isValid() || isMovementTick(entity)) {
+            return false;
+        }
+        heldMovementEntities.add(entity);
+        return true;
+    }
+
+    /**
+     * Spawns entities that came into range and sends movement that was held back. Called every tick.
+     */
+    public void tick() {
+        if (viewDistanceSquared == 0) {
+            return;
+        }
+
+        if (!heldMovementEntities.isEmpty()) {
+            Iterator<Entity> it = heldMovementEntities.iterator();
+            while (it.hasNext()) {
+                Entity entity = it.next();
+                if (!entity.isValid()) {
+                    it.remove();
+                } else if (isMovementTick(entity)) {
+                    entity.sendHeldMovement();
+                    it.remove();
+                }
+            }
+        }
+
+        if (!deferredEntities.isEmpty() && session.getTicks() % 5 == 0) {
+            Iterator<Entity> it = deferredEntities.iterator();
+            while (it.hasNext()) {
+                Entity entity = it.next();
+                if (distanceSquared(entity) <= viewDistanceSquared) {
+                    it.remove();
+                    spawnDeferred(entity);
+                }
+            }
+        }
+    }
+
+    /**
+     * Only mobs are held back. Players, and entities made of several Bedrock entities, are always sent.
+     */
+    private boolean isManaged(Entity entity) {
+        if (viewDistanceSquared == 0) {
+            return false;
+        }
+        return entity instanceof LivingEntity && !(entity instanceof PlayerEntity) && !(entity instanceof ArmorStandEntity)
+                && !(entity instanceof EnderDragonEntity) && entity.getVehicle() == null && entity.getPassengers().isEmpty();
+    }
+
+    private int movementInterval(Entity entity) {
+        double distance = distanceSquared(entity);
+        if (distance <= viewDistanceSquared / 4d) {
+            return 1;
+        }
+        return distance <= viewDistanceSquared ? 2 : 4;
+    }
+
+    private boolean isMovementTick(Entity entity) {
+        // Spread entities over ticks instead of sending all of them at once
+        return ((session.getTicks() + entity.getEntityId()) & (movementInterval(entity) - 1)) == 0;
+    }
+
+    /**
+     * @return the squared horizontal distance between the entity and the player
+     */
+    private double distanceSquared(Entity entity) {
+        Vector3f playerPosition = session.getPlayerEntity().getPosition();
+        double x = entity.getPosition().getX() - playerPosition.getX();
+        double z = entity.getPosition().getZ() - playerPosition.getZ();
+        return x * x + z * z;
+    }
+
     public boolean cacheEntity(Entity entity) {
         // Check to see if the entity exists, otherwise we can end up with duplicated mobs
         if (!entityIdTranslations.containsKey(entity.getEntityId())) {
@@ -105,6 +246,8 @@ public class EntityCache {
         if (entity.isValid()) {
             entity.despawnEntity();
         }
+        deferredEntities.remove(entity);
+        heldMovementEntities.remove(entity);
         entities.remove(entityIdTranslations.remove(entity.getEntityId()));
 
         // don't track the entity anymore, now that it's removed
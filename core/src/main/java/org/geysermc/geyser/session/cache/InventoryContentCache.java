@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.ChangeDimensionPacket;
+import org.cloudburstmc.protocol.bedrock.packet.ContainerClosePacket;
+import org.cloudburstmc.protocol.bedrock.packet.ContainerOpenPacket;
+import org.cloudburstmc.protocol.bedrock.packet.InventoryContentPacket;
+import org.cloudburstmc.protocol.bedrock.packet.InventorySlotPacket;
+import org.cloudburstmc.protocol.bedrock.packet.RespawnPacket;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps track of the items last sent to the Bedrock client for each container, so that a container resent by the
+ * Java server only has to update the slots that actually changed.
+ * <p>
+ * Every inventory packet sent to the client is recorded on the session's event loop, which is the only thread this
+ * is used from. Anything that lets the client change its own view of
+ * a container, such as item stack requests or opening and closing containers, forgets everything, so the next
+ * update is sent in full.
+ */
+public final class InventoryContentCache {
+    private final GeyserSession session;
+    private final Int2ObjectMap<ItemData[]> sentContents = new Int2ObjectOpenHashMap<>();
+
+    public InventoryContentCache(GeyserSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Sends the contents of a container, either as an {@link InventoryContentPacket}, or as an
+     * {@link InventorySlotPacket} for each changed slot if at most half of the slots changed since they were last sent.
+     */
+    public void sendContents(int containerId, ItemData[] contents) {
+        ItemData[] previous = sentContents.get(containerId);
+        if (previous != null && previous.length == contents.length) {
+            int changed = 0;
+            for (int i = 0; i < contents.length; i++) {
+                if (!isSame(previous[i], contents[i])) {
+                    changed++;
+                }
+            }
+
+            if (changed * 2 <= contents.length) {
+                for (int i = 0; i < contents.length; i++) {
+                    if (!isSame(previous[i], contents[i])) {
+                        InventorySlotPacket slotPacket = new InventorySlotPacket();
+                        slotPacket.setContainerId(containerId);
+                        slotPacket.setSlot(i);
+                        slotPacket.setItem(contents[i]);
+                        session.sendUpstreamPacket(slotPacket);
+                    }
+                }
+                return;
+            }
+        }
+
+        InventoryContentPacket contentPacket = new InventoryContentPacket();
+        contentPacket.setContainerId(containerId);
+        contentPacket.setContents(Arrays.asList(contents));
+        session.sendUpstreamPacket(contentPacket);
+    }
+
+    /**
+     * Called for every packet sent to the client.
+     */
+    public void onPacketSent(BedrockPacket packet) {
+        if (packet instanceof InventorySlotPacket slotPacket) {
+            // Bundles and other dynamic containers are not tracked
+            if (slotPacket.getContainerNameData() == null) {
+                ItemData[] contents = sentContents.get(slotPacket.getContainerId());
+                if (contents != null) {
+                    int slot = slotPacket.getSlot();
+                    if (slot >= 0 && slot < contents.length) {
+                        contents[slot] = slotPacket.getItem();
+                    } else {
+                        sentContents.remove(slotPacket.getContainerId());
+                    }
+                }
+            }
+        } else if (packet instanceof InventoryContentPacket contentPacket) {
+            if (contentPacket.getContainerNameData() == null) {
+                List<ItemData> contents = contentPacket.getContents();
+                sentContents.put(contentPacket.getContainerId(), contents.toArray(new ItemData[0]));
+            }
+        } else if (packet instanceof ContainerOpenPacket || packet instanceof ContainerClosePacket
+                || packet instanceof ChangeDimensionPacket || packet instanceof RespawnPacket) {
+            clear();
+        }
+    }
+
+    /**
+     * Forgets what was sent, for when the client may have changed its items by itself.
+     */
+    public void clear() {
+        sentContents.clear();
+    }
+
+    private static boolean isSame(ItemData sent, ItemData item) {
+        if (sent == item) {
+            return true;
+        }
+        return sent != null && item != null && sent.getNetId() == item.getNetId() && sent.equals(item)
+            && Objects.equals(sent.getBlockDefinition(), item.getBlockDefinition());
+    }
+}
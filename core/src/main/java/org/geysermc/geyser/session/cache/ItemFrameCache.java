@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.math.vector.Vector3i;
+import org.geysermc.geyser.entity.type.ItemFrameEntity;
+import org.geysermc.geyser.util.MathUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Item frames by their Bedrock block position, also indexed by chunk so a chunk being sent doesn't need to look
+ * through every item frame.
+ * Used for translating Bedrock block actions to Java entity actions.
+ */
+public final class ItemFrameCache {
+    private final Map<Vector3i, ItemFrameEntity> itemFrames = new Object2ObjectOpenHashMap<>();
+    private final Long2ObjectMap<List<ItemFrameEntity>> itemFramesByChunk = new Long2ObjectOpenHashMap<>();
+
+    public void put(Vector3i position, ItemFrameEntity itemFrame) {
+        ItemFrameEntity previous = itemFrames.put(position, itemFrame);
+        if (previous != null) {
+            removeFromChunk(position, previous);
+        }
+        itemFramesByChunk.computeIfAbsent(chunkKey(position), $ -> new ObjectArrayList<>(4)).add(itemFrame);
+    }
+
+    public @Nullable ItemFrameEntity get(Vector3i position) {
+        return itemFrames.get(position);
+    }
+
+    /**
+     * Removes the item frame at this position, if it is still the given item frame.
+     */
+    public void remove(Vector3i position, ItemFrameEntity itemFrame) {
+        if (itemFrames.remove(position, itemFrame)) {
+            removeFromChunk(position, itemFrame);
+        }
+    }
+
+    /**
+     * @return the item frames in this chunk. Should not be modified.
+     */
+    public List<ItemFrameEntity> getInChunk(int chunkX, int chunkZ) {
+        List<ItemFrameEntity> inChunk = itemFramesByChunk.get(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+        return inChunk == null ? Collections.emptyList() : inChunk;
+    }
+
+    public void clear() {
+        itemFrames.clear();
+        itemFramesByChunk.clear();
+    }
+
+    private void removeFromChunk(Vector3i position, ItemFrameEntity itemFrame) {
+        long chunkKey = chunkKey(position);
+        List<ItemFrameEntity> inChunk = itemFramesByChunk.get(chunkKey);
+        if (inChunk != null) {
+            inChunk.remove(itemFrame);
+            if (inChunk.isEmpty()) {
+                itemFramesByChunk.remove(chunkKey);
+            }
+        }
+    }
+
+    private static long chunkKey(Vector3i position) {
+        return MathUtils.chunkPositionToLong(position.getX() >> 4, position.getZ() >> 4);
+    }
+}
@@ -29,6 +29,7 @@ import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import lombok.Getter;
 import net.kyori.adventure.key.Key;
 import org.cloudburstmc.nbt.NbtMap;
 import org.cloudburstmc.nbt.NbtType;
@@ -117,6 +118,11 @@ public final class RegistryCache {
 
     private final GeyserSession session;
     private final Reference2ObjectMap<JavaRegistryKey<?>, JavaRegistry<?>> registries;
+    /**
+     * Increased every time registry data is loaded, so that anything translated using older registry data can tell.
+     */
+    @Getter
+    private int generation;
 
     public RegistryCache(GeyserSession session) {
         this.session = session;
@@ -135,7 +141,11 @@ public final class RegistryCache {
             // Java generic mess - we're sure we're putting the current readers for the correct registry types in the READERS map, so we use raw objects here to let it compile
             RegistryLoader reader = READERS.get(registryKey);
             if (reader != null) {
-                reader.load(session, registries.get(registryKey), packet.getEntries());
+                // Sessions connected to the same backend share the translated entries
+                List values = SharedRegistryData.registry(session, (JavaRegistryKey) registryKey, packet.getEntries(), () -> reader.load(session, packet.getEntries()));
+                registries.get(registryKey).reset(values);
+                // Component hashes can refer to registry entries, such as enchantments, so this also resets the component hash cache
+                generation++;
             } else {
                 throw new IllegalStateException("Expected reader for registry " + registryKey);
             }
@@ -157,7 +167,7 @@ public final class RegistryCache {
      * @param <T> the class that represents these entries.
      */
     private static <T> void register(JavaRegistryKey<T> registryKey, RegistryReader<T> reader) {
-        register(registryKey, (session, registry, entries) -> {
+        register(registryKey, (session, entries) -> {
             Map<Key, NbtMap> localRegistry = null;
 
             // Clear each local cache every time a new registry entry is given to us
@@ -189,7 +199,7 @@ public final class RegistryCache {
                 }
                 builder.add(i, new RegistryEntryData<>(entry.getId(), cacheEntry));
             }
-            registry.reset(builder);
+            return builder;
         });
     }
 
@@ -212,6 +222,6 @@ public final class RegistryCache {
     @FunctionalInterface
     private interface RegistryLoader<T> {
 
-        void load(GeyserSession session, JavaRegistry<T> registry, List<RegistryEntry> entries);
+        List<RegistryEntryData<T>> load(GeyserSession session, List<RegistryEntry> entries);
     }
 }
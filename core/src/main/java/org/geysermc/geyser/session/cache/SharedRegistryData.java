@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.registry.JavaRegistryKey;
+import org.geysermc.geyser.session.cache.registry.RegistryEntryData;
+import org.geysermc.geyser.session.cache.tags.Tag;
+import org.geysermc.mcprotocollib.protocol.data.game.RegistryEntry;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Interns registry and tag data loaded during the configuration phase, so that sessions connected to the same
+ * backend share one immutable copy instead of each holding their own.
+ */
+public final class SharedRegistryData {
+    private static final Cache<RegistryKey, List<? extends RegistryEntryData<?>>> REGISTRIES = CacheBuilder.newBuilder()
+            .maximumSize(512)
+            .expireAfterAccess(30, TimeUnit.MINUTES)
+            .build();
+    private static final Cache<TagSnapshot, TagSnapshot> TAGS = CacheBuilder.newBuilder()
+            .maximumSize(32)
+            .expireAfterAccess(30, TimeUnit.MINUTES)
+            .build();
+
+    private SharedRegistryData() {
+    }
+
+    /**
+     * Returns the translated entries for this registry, reading them with the given loader only if no other session
+     * has received the same entries yet. Registry readers may use the session's locale and item mappings, so these are
+     * part of the key.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> List<RegistryEntryData<T>> registry(GeyserSession session, JavaRegistryKey<T> registryKey, List<RegistryEntry> entries,
+                                                   Supplier<List<RegistryEntryData<T>>> loader) {
+        RegistryKey key = new RegistryKey(registryKey, List.copyOf(entries), session.locale(), session.protocolVersion());
+        List<? extends RegistryEntryData<?>> values = REGISTRIES.getIfPresent(key);
+        if (values == null) {
+            values = List.copyOf(loader.get());
+            List<? extends RegistryEntryData<?>> existing = REGISTRIES.asMap().putIfAbsent(key, values);
+            if (existing != null) {
+                values = existing;
+            }
+        }
+        return (List<RegistryEntryData<T>>) values;
+    }
+
+    /**
+     * Returns an equal tag map if another session already loaded one, else the given map.
+     * Neither map may be modified afterwards.
+     */
+    static Map<Tag<?>, int[]> tags(Map<Tag<?>, int[]> tags) {
+        TagSnapshot snapshot = new TagSnapshot(tags);
+        TagSnapshot existing = TAGS.asMap().putIfAbsent(snapshot, snapshot);
+        return existing != null ? existing.tags : snapshot.tags;
+    }
+
+    /**
+     * @return how many distinct registry snapshots are currently shared
+     */
+    public static long registrySnapshots() {
+        return REGISTRIES.size();
+    }
+
+    /**
+     * @return how many distinct tag snapshots are currently shared
+     */
+    public static long tagSnapshots() {
+        return TAGS.size();
+    }
+
+    private record RegistryKey(JavaRegistryKey<?> registry, List<RegistryEntry> entries, String locale, int protocolVersion) {
+    }
+
+    /**
+     * Compares tag maps by the contents of their arrays.
+     */
+    private static final class TagSnapshot {
+        private final Map<Tag<?>, int[]> tags;
+        private final int hashCode;
+
+        private TagSnapshot(Map<Tag<?>, int[]> tags) {
+            this.tags = tags;
+            int hash = 0;
+            for (Map.Entry<Tag<?>, int[]> entry : tags.entrySet()) {
+                hash += entry.getKey().hashCode() ^ Arrays.hashCode(entry.getValue());
+            }
+            this.hashCode = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TagSnapshot other)) return false;
+            if (hashCode != other.hashCode || tags.size() != other.tags.size()) return false;
+            for (Map.Entry<Tag<?>, int[]> entry : tags.entrySet()) {
+                int[] otherValue = other.tags.get(entry.getKey());
+                if (otherValue == null || !Arrays.equals(entry.getValue(), otherValue)) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
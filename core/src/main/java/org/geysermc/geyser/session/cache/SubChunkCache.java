@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.math.vector.Vector3i;
+import org.geysermc.geyser.level.block.type.BlockState;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.util.MathUtils;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Holds the encoded sections of chunks that were sent in sub-chunk request mode, so the client can request
+ * only the sections it needs.
+ * <p>
+ * Blocks that change after a column has been translated are remembered as well, since the client would otherwise
+ * overwrite them with an outdated section. They are kept per section and by position within it, so a section holds
+ * at most one update per block, and are dropped along with the column once it is translated again.
+ */
+public final class SubChunkCache {
+    private final Long2ObjectMap<Column> columns = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * If chunks for this session should be sent in sub-chunk request mode
+     */
+    @Getter
+    private final boolean enabled;
+
+    public SubChunkCache(GeyserSession session) {
+        this.enabled = session.getGeyser().getConfig().isRequestSubChunks();
+    }
+
+    /**
+     * @param sections the encoded sections and block entities of this column, indexed from the bottom of the Bedrock
+     *                 dimension. Null entries only contain air.
+     */
+    public void store(int chunkX, int chunkZ, byte[][] sections) {
+        columns.put(MathUtils.chunkPositionToLong(chunkX, chunkZ), new Column(chunkX, chunkZ, sections));
+    }
+
+    public @Nullable Column getColumn(int chunkX, int chunkZ) {
+        return columns.get(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+    }
+
+    public void onBlockUpdate(Vector3i position, BlockState blockState) {
+        if (columns.isEmpty()) {
+            return;
+        }
+        Column column = getColumn(position.getX() >> 4, position.getZ() >> 4);
+        if (column != null) {
+            Int2ObjectMap<BlockState> updates = column.blockUpdates.get(position.getY() >> 4);
+            if (updates == null) {
+                updates = new Int2ObjectOpenHashMap<>();
+                column.blockUpdates.put(position.getY() >> 4, updates);
+            }
+            // Only the latest state of a block matters
+            updates.put(((position.getY() & 0xF) << 8) | ((position.getZ() & 0xF) << 4) | (position.getX() & 0xF), blockState);
+        }
+    }
+
+    public void removeColumn(int chunkX, int chunkZ) {
+        columns.remove(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+    }
+
+    public void clear() {
+        columns.clear();
+    }
+
+    public static final class Column {
+        private final int chunkX;
+        private final int chunkZ;
+        private final byte[][] sections;
+        /**
+         * Section Y to the blocks in that section that changed after it was translated, by index within the section
+         */
+        private final Int2ObjectMap<Int2ObjectMap<BlockState>> blockUpdates = new Int2ObjectOpenHashMap<>();
+
+        private Column(int chunkX, int chunkZ, byte[][] sections) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.sections = sections;
+        }
+
+        /**
+         * @return the encoded section, or null if it only contains air
+         */
+        public byte @Nullable [] section(int index) {
+            return index < sections.length ? sections[index] : null;
+        }
+
+        /**
+         * Runs the consumer for each block in this section that changed after it had been translated.
+         */
+        public void forEachBlockUpdate(int sectionY, BiConsumer<Vector3i, BlockState> consumer) {
+            Int2ObjectMap<BlockState> updates = blockUpdates.get(sectionY);
+            if (updates == null) {
+                return;
+            }
+            // Copied, since the consumer may record the same blocks again
+            for (Int2ObjectMap.Entry<BlockState> entry : Int2ObjectMaps.fastIterable(new Int2ObjectOpenHashMap<>(updates))) {
+                int index = entry.getIntKey();
+                Vector3i position = Vector3i.from((chunkX << 4) | (index & 0xF), (sectionY << 4) | (index >> 8), (chunkZ << 4) | ((index >> 4) & 0xF));
+                consumer.accept(position, entry.getValue());
+            }
+        }
+    }
+}
@@ -56,7 +56,10 @@ import java.util.Map;
 @ParametersAreNonnullByDefault
 public final class TagCache {
     private final GeyserSession session;
-    private final Map<Tag<?>, int[]> tags = new Object2ObjectOpenHashMap<>();
+    /**
+     * Shared between sessions that received the same tags; see {@link SharedRegistryData}. Never modified after loading.
+     */
+    private Map<Tag<?>, int[]> tags = Map.of();
 
     public TagCache(GeyserSession session) {
         this.session = session;
@@ -66,7 +69,7 @@ public final class TagCache {
         Map<Key, Map<Key, int[]>> allTags = packet.getTags();
         GeyserLogger logger = session.getGeyser().getLogger();
 
-        this.tags.clear();
+        Map<Tag<?>, int[]> tags = new Object2ObjectOpenHashMap<>();
 
         for (Key registryKey : allTags.keySet()) {
             JavaRegistryKey<?> registry = JavaRegistries.fromKey(registryKey);
@@ -94,18 +97,20 @@ public final class TagCache {
                 }
             }
 
-            loadTags(registryTags, registry, registry == JavaRegistries.ITEM);
+            loadTags(tags, registryTags, registry, registry == JavaRegistries.ITEM);
         }
+
+        this.tags = SharedRegistryData.tags(tags);
     }
 
-    private void loadTags(Map<Key, int[]> packetTags, JavaRegistryKey<?> registry, boolean sort) {
+    private static void loadTags(Map<Tag<?>, int[]> tags, Map<Key, int[]> packetTags, JavaRegistryKey<?> registry, boolean sort) {
         for (Map.Entry<Key, int[]> tag : packetTags.entrySet()) {
             int[] value = tag.getValue();
             if (sort) {
                 // Used in RecipeBookAddTranslator
                 Arrays.sort(value);
             }
-            this.tags.put(new Tag<>(registry, tag.getKey()), value);
+            tags.put(new Tag<>(registry, tag.getKey()), value);
         }
     }
 
@@ -38,7 +38,7 @@ import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.protocol.bedrock.packet.SetTitlePacket;
 import org.geysermc.geyser.inventory.GeyserItemStack;
 import org.geysermc.geyser.scoreboard.Scoreboard;
-import org.geysermc.geyser.scoreboard.ScoreboardUpdater.ScoreboardSession;
+import org.geysermc.geyser.scoreboard.ScoreboardUpdater;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.util.ChunkUtils;
 import org.geysermc.mcprotocollib.protocol.data.game.item.component.DataComponentTypes;
@@ -51,7 +51,7 @@ import java.util.Map;
 public final class WorldCache {
     private final GeyserSession session;
     @Getter
-    private final ScoreboardSession scoreboardSession;
+    private final ScoreboardUpdater scoreboardUpdater;
     @Getter
     private @NonNull Scoreboard scoreboard;
     @Getter
@@ -80,7 +80,7 @@ public final class WorldCache {
     public WorldCache(GeyserSession session) {
         this.session = session;
         this.scoreboard = new Scoreboard(session);
-        scoreboardSession = new ScoreboardSession(session);
+        scoreboardUpdater = new ScoreboardUpdater(session);
         resetTitleTimes(false);
     }
 
@@ -90,9 +90,14 @@ public final class WorldCache {
     }
 
     public int increaseAndGetScoreboardPacketsPerSecond() {
-        int pendingPps = scoreboardSession.getPendingPacketsPerSecond().incrementAndGet();
-        int pps = scoreboardSession.getPacketsPerSecond();
-        return Math.max(pps, pendingPps);
+        return scoreboardUpdater.increaseAndGetPacketsPerSecond();
+    }
+
+    /**
+     * Sends the scoreboard after a delay, for when the server is sending too many score packets to send each change.
+     */
+    public void scheduleScoreboardUpdate() {
+        scoreboardUpdater.scheduleUpdate();
     }
 
     public void markTitleTimesAsIncorrect() {
@@ -25,14 +25,13 @@
 
 package org.geysermc.geyser.session.cache.registry;
 
-import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.kyori.adventure.key.Key;
 import org.checkerframework.checker.index.qual.NonNegative;
 
 import java.util.List;
 
 public class SimpleJavaRegistry<T> implements JavaRegistry<T> {
-    protected final ObjectArrayList<RegistryEntryData<T>> values = new ObjectArrayList<>();
+    protected List<RegistryEntryData<T>> values = List.of();
 
     @Override
     public T byId(@NonNegative int id) {
@@ -82,9 +81,8 @@ public class SimpleJavaRegistry<T> implements JavaRegistry<T> {
 
     @Override
     public void reset(List<RegistryEntryData<T>> values) {
-        this.values.clear();
-        this.values.addAll(values);
-        this.values.trim();
+        // Immutable lists are kept as they are, so that sessions can share them
+        this.values = List.copyOf(values);
     }
 
     @Override
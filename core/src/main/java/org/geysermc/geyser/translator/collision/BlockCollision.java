@@ -56,8 +56,25 @@ public class BlockCollision {
      */
     protected final double pushAwayTolerance = CollisionManager.COLLISION_TOLERANCE * 1.1;
 
+    /**
+     * The middle and size of each bounding box, one box after another, so movement doesn't have to go through
+     * every box object of every block near the player
+     */
+    @EqualsAndHashCode.Exclude
+    private final double[] flatBoundingBoxes;
+
     protected BlockCollision(BoundingBox[] boxes) {
         this.boundingBoxes = boxes;
+        this.flatBoundingBoxes = new double[boxes.length * 6];
+        for (int i = 0; i < boxes.length; i++) {
+            BoundingBox box = boxes[i];
+            flatBoundingBoxes[i * 6] = box.getMiddleX();
+            flatBoundingBoxes[i * 6 + 1] = box.getMiddleY();
+            flatBoundingBoxes[i * 6 + 2] = box.getMiddleZ();
+            flatBoundingBoxes[i * 6 + 3] = box.getSizeX();
+            flatBoundingBoxes[i * 6 + 4] = box.getSizeY();
+            flatBoundingBoxes[i * 6 + 5] = box.getSizeZ();
+        }
     }
 
     /**
@@ -158,8 +175,10 @@ public class BlockCollision {
     }
 
     public double computeCollisionOffset(double x, double y, double z, BoundingBox boundingBox, Axis axis, double offset) {
-        for (BoundingBox b : boundingBoxes) {
-            offset = b.getMaxOffset(x, y, z, boundingBox, axis, offset);
+        double[] boxes = this.flatBoundingBoxes;
+        for (int i = 0; i < boxes.length; i += 6) {
+            offset = BoundingBox.getMaxOffset(boxes[i], boxes[i + 1], boxes[i + 2], boxes[i + 3], boxes[i + 4], boxes[i + 5],
+                    x, y, z, boundingBox, axis, offset);
             if (Math.abs(offset) < CollisionManager.COLLISION_TOLERANCE) {
                 return 0;
             }
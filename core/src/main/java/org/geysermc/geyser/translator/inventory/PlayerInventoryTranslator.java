@@ -87,6 +87,10 @@ public class PlayerInventoryTranslator extends InventoryTranslator<PlayerInvento
     public void updateInventory(GeyserSession session, PlayerInventory inventory) {
         updateCraftingGrid(session, inventory);
 
+        // These are always sent in full rather than through the InventoryContentCache. With no container open, the client
+        // predicts changes to all of them - placing and using items, armor and shield durability, eating from the offhand -
+        // and the server undoes a wrong prediction by resending contents that may be unchanged from what we last sent.
+
         InventoryContentPacket inventoryContentPacket = new InventoryContentPacket();
         inventoryContentPacket.setContainerId(ContainerId.INVENTORY);
         ItemData[] contents = new ItemData[36];
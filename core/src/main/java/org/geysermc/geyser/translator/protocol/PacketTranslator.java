@@ -39,4 +39,12 @@ public abstract class PacketTranslator<T> {
     public boolean shouldExecuteInEventLoop() {
         return true;
     }
+
+    /**
+     * Determines if this packet has to wait for chunks that are still being translated off the event loop, such as
+     * block updates that would otherwise be overwritten by their chunk.
+     */
+    public boolean dependsOnChunks() {
+        return false;
+    }
 }
@@ -106,6 +106,9 @@ public class BedrockInventoryTransactionTranslator extends PacketTranslator<Inve
 
     @Override
     public void translate(GeyserSession session, InventoryTransactionPacket packet) {
+        // The client may change its items by itself, such as when placing blocks
+        session.getInventoryContentCache().clear();
+
         if (packet.getTransactionType() == InventoryTransactionType.NORMAL && packet.getActions().size() == 3) {
             InventoryActionData containerAction = packet.getActions().get(0);
             if (containerAction.getSource().getType() == InventorySource.Type.CONTAINER &&
@@ -39,6 +39,9 @@ public class BedrockItemStackRequestTranslator extends PacketTranslator<ItemStac
 
     @Override
     public void translate(GeyserSession session, ItemStackRequestPacket packet) {
+        // The client applies its requests before hearing back, so what we last sent can't be relied on anymore
+        session.getInventoryContentCache().clear();
+
         InventoryHolder<?> holder = session.getInventoryHolder();
         if (holder == null)
             return;
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.translator.protocol.bedrock.world;
+
+import io.netty.buffer.Unpooled;
+import org.cloudburstmc.math.vector.Vector3i;
+import org.cloudburstmc.protocol.bedrock.data.HeightMapDataType;
+import org.cloudburstmc.protocol.bedrock.data.SubChunkData;
+import org.cloudburstmc.protocol.bedrock.data.SubChunkRequestResult;
+import org.cloudburstmc.protocol.bedrock.packet.SubChunkPacket;
+import org.cloudburstmc.protocol.bedrock.packet.SubChunkRequestPacket;
+import org.geysermc.geyser.entity.type.ItemFrameEntity;
+import org.geysermc.geyser.level.BedrockDimension;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.SubChunkCache;
+import org.geysermc.geyser.translator.protocol.PacketTranslator;
+import org.geysermc.geyser.translator.protocol.Translator;
+import org.geysermc.geyser.util.ChunkUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sent by the client for chunks that were sent in sub-chunk request mode, asking for the sections around its position.
+ */
+@Translator(packet = SubChunkRequestPacket.class)
+public class BedrockSubChunkRequestTranslator extends PacketTranslator<SubChunkRequestPacket> {
+
+    @Override
+    public void translate(GeyserSession session, SubChunkRequestPacket packet) {
+        SubChunkCache subChunkCache = session.getSubChunkCache();
+        if (!subChunkCache.isEnabled()) {
+            return;
+        }
+
+        BedrockDimension bedrockDimension = session.getBedrockDimension();
+        int minSectionY = bedrockDimension.minY() >> 4;
+        int sectionCount = bedrockDimension.height() >> 4;
+        boolean sameDimension = packet.getDimension() == bedrockDimension.bedrockId();
+        Vector3i center = packet.getSubChunkPosition();
+
+        SubChunkPacket subChunkPacket = new SubChunkPacket();
+        subChunkPacket.setDimension(bedrockDimension.bedrockId());
+        subChunkPacket.setCenterPosition(center);
+        subChunkPacket.setCacheEnabled(false);
+
+        List<Vector3i> sentSections = new ArrayList<>();
+        for (Vector3i offset : packet.getPositionOffsets()) {
+            Vector3i sectionPosition = center.add(offset);
+            SubChunkData subChunk = new SubChunkData();
+            subChunk.setPosition(offset);
+            subChunk.setHeightMapType(HeightMapDataType.NO_DATA);
+
+            SubChunkCache.Column column = sameDimension ? subChunkCache.getColumn(sectionPosition.getX(), sectionPosition.getZ()) : null;
+            int index = sectionPosition.getY() - minSectionY;
+            if (!sameDimension) {
+                subChunk.setResult(SubChunkRequestResult.INVALID_DIMENSION);
+            } else if (column == null) {
+                subChunk.setResult(SubChunkRequestResult.CHUNK_NOT_FOUND);
+            } else if (index < 0 || index >= sectionCount) {
+                subChunk.setResult(SubChunkRequestResult.INDEX_OUT_OF_BOUNDS);
+            } else {
+                byte[] section = column.section(index);
+                if (section == null) {
+                    subChunk.setResult(SubChunkRequestResult.SUCCESS_ALL_AIR);
+                } else {
+                    subChunk.setResult(SubChunkRequestResult.SUCCESS);
+                    subChunk.setData(Unpooled.wrappedBuffer(section));
+                }
+                sentSections.add(sectionPosition);
+            }
+            subChunkPacket.getSubChunks().add(subChunk);
+        }
+        session.sendUpstreamPacket(subChunkPacket);
+
+        for (Vector3i sectionPosition : sentSections) {
+            SubChunkCache.Column column = subChunkCache.getColumn(sectionPosition.getX(), sectionPosition.getZ());
+            // Re-apply blocks that changed since the section was translated
+            column.forEachBlockUpdate(sectionPosition.getY(), (position, blockState) -> ChunkUtils.updateBlockClientSide(session, blockState, position));
+
+            for (ItemFrameEntity itemFrame : session.getItemFrameCache().getInChunk(sectionPosition.getX(), sectionPosition.getZ())) {
+                if ((itemFrame.getBedrockPosition().getY() >> 4) == sectionPosition.getY()) {
+                    // The section would otherwise replace the item frame block
+                    itemFrame.updateBlock(true);
+                }
+            }
+        }
+    }
+}
@@ -26,6 +26,8 @@
 package org.geysermc.geyser.translator.protocol.java;
 
 import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import it.unimi.dsi.fastutil.Hash;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
@@ -58,6 +60,7 @@ import org.geysermc.mcprotocollib.protocol.data.game.entity.attribute.AttributeT
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundCommandsPacket;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 @SuppressWarnings("removal") // We know. This is our doing.
@@ -74,6 +77,14 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
     private static final String[] VALID_COLORS;
     private static final String[] VALID_SCOREBOARD_SLOTS;
 
+    /**
+     * Translated command trees, shared between sessions. Many players on one server receive the same tree.
+     */
+    private static final Cache<CommandTreeKey, CommandTree> COMMAND_TREES = CacheBuilder.newBuilder()
+            .maximumSize(64)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
     private static final Hash.Strategy<BedrockCommandInfo> PARAM_STRATEGY = new Hash.Strategy<>() {
         @Override
         public int hashCode(BedrockCommandInfo o) {
@@ -134,9 +145,60 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
             return;
         }
 
+        CommandTreeKey key = CommandTreeKey.of(session, packet);
+        CommandTree tree = COMMAND_TREES.getIfPresent(key);
+        if (tree == null) {
+            tree = buildCommandTree(session, packet);
+            COMMAND_TREES.put(key, tree);
+        }
+
+        // Copy the shared view so event listeners can only remove commands for this session
+        Map<BedrockCommandInfo, Set<String>> commands = new LinkedHashMap<>(tree.commands());
+
+        var eventBus = session.getGeyser().eventBus();
+
+        var event = new ServerDefineCommandsEvent(session, commands.keySet());
+        eventBus.fire(event);
+        if (event.isCancelled()) {
+            return;
+        }
+
+        var oldEvent = new org.geysermc.geyser.api.event.downstream.ServerDefineCommandsEvent(session, commands.keySet());
+        eventBus.fire(oldEvent);
+        if (oldEvent.isCancelled()) {
+            return;
+        }
+
+        List<CommandData> commandData;
+        if (commands.size() == tree.commands().size()) {
+            // Nothing was removed; the translated command list can be reused as is
+            commandData = tree.commandData();
+        } else {
+            commandData = buildCommandData(commands);
+        }
+
+        if (session.getGeyser().platformType() == PlatformType.STANDALONE) {
+            commandData = new ArrayList<>(commandData);
+            session.getGeyser().commandRegistry().export(session, commandData, new HashSet<>(tree.knownAliases()));
+        }
+
+        // Add our commands to the AvailableCommandsPacket for the bedrock client
+        AvailableCommandsPacket availableCommandsPacket = new AvailableCommandsPacket();
+        availableCommandsPacket.getCommands().addAll(commandData);
+
+        session.getGeyser().getLogger().debug("Sending command packet of " + commandData.size() + " commands");
+
+        // Finally, send the commands to the client
+        session.sendUpstreamPacket(availableCommandsPacket);
+    }
+
+    /**
+     * Translate the Java command tree into Bedrock command info. The result only depends on the inputs
+     * captured by {@link CommandTreeKey}, so it can be shared between sessions.
+     */
+    private static CommandTree buildCommandTree(GeyserSession session, ClientboundCommandsPacket packet) {
         CommandRegistry registry = session.getGeyser().commandRegistry();
         CommandNode[] nodes = packet.getNodes();
-        List<CommandData> commandData = new ArrayList<>();
         IntSet commandNodes = new IntOpenHashSet();
         Set<String> knownAliases = new HashSet<>();
         Map<BedrockCommandInfo, Set<String>> commands = new Object2ObjectOpenCustomHashMap<>(PARAM_STRATEGY);
@@ -169,19 +231,16 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
             commands.computeIfAbsent(info, $ -> new HashSet<>()).add(name);
         }
 
-        var eventBus = session.getGeyser().eventBus();
-
-        var event = new ServerDefineCommandsEvent(session, commands.keySet());
-        eventBus.fire(event);
-        if (event.isCancelled()) {
-            return;
-        }
+        // Keep the iteration order stable; per-session copies are keyed by identity of the cached infos
+        Map<BedrockCommandInfo, Set<String>> ordered = Collections.unmodifiableMap(new LinkedHashMap<>(commands));
+        return new CommandTree(ordered, Collections.unmodifiableSet(knownAliases), List.copyOf(buildCommandData(ordered)));
+    }
 
-        var oldEvent = new org.geysermc.geyser.api.event.downstream.ServerDefineCommandsEvent(session, commands.keySet());
-        eventBus.fire(oldEvent);
-        if (oldEvent.isCancelled()) {
-            return;
-        }
+    /**
+     * Build the Bedrock command list from the merged command info.
+     */
+    private static List<CommandData> buildCommandData(Map<BedrockCommandInfo, Set<String>> commands) {
+        List<CommandData> commandData = new ArrayList<>();
 
         // The command flags, set to NOT_CHEAT so known commands can be used while achievements are enabled.
         Set<CommandData.Flag> flags = Set.of(CommandData.Flag.NOT_CHEAT);
@@ -214,19 +273,7 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
             // https://github.com/GeyserMC/Geyser/issues/2573 if Brigadier does not send the help command.
             commandData.add(createFakeHelpCommand());
         }
-
-        if (session.getGeyser().platformType() == PlatformType.STANDALONE) {
-            session.getGeyser().commandRegistry().export(session, commandData, knownAliases);
-        }
-
-        // Add our commands to the AvailableCommandsPacket for the bedrock client
-        AvailableCommandsPacket availableCommandsPacket = new AvailableCommandsPacket();
-        availableCommandsPacket.getCommands().addAll(commandData);
-
-        session.getGeyser().getLogger().debug("Sending command packet of " + commandData.size() + " commands");
-
-        // Finally, send the commands to the client
-        session.sendUpstreamPacket(availableCommandsPacket);
+        return commandData;
     }
 
     /**
@@ -305,7 +352,7 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
         };
     }
 
-    private CommandData createFakeHelpCommand() {
+    private static CommandData createFakeHelpCommand() {
         CommandEnumData aliases = new CommandEnumData("helpAliases", Map.of("help", EnumSet.of(CommandEnumConstraint.ALLOW_ALIASES)), false);
         return new CommandData("help", "", Set.of(CommandData.Flag.NOT_CHEAT), CommandPermission.ANY, aliases, Collections.emptyList(), new CommandOverloadData[0]);
     }
@@ -319,6 +366,60 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
     {
     }
 
+    /**
+     * Identifies a translated command tree. Besides the Java nodes and the locale used for descriptions,
+     * this captures the per-session values that the tree's parsers pull in.
+     */
+    private record CommandTreeKey(List<CommandNode> nodes, int firstNodeIndex, String locale, List<Object> sessionValues) {
+
+        static CommandTreeKey of(GeyserSession session, ClientboundCommandsPacket packet) {
+            boolean dimensions = false;
+            boolean teams = false;
+            boolean enchantments = false;
+            for (CommandNode node : packet.getNodes()) {
+                CommandParser parser = node.getParser();
+                if (parser == null) {
+                    continue;
+                }
+                switch (parser) {
+                    case DIMENSION -> dimensions = true;
+                    case TEAM -> teams = true;
+                    case RESOURCE, RESOURCE_OR_TAG -> {
+                        if (node.getProperties() instanceof ResourceProperties properties
+                                && "minecraft:enchantment".equals(properties.getRegistryKey().asString())) {
+                            enchantments = true;
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+
+            List<Object> sessionValues = new ArrayList<>(3);
+            if (dimensions && session.getLevels() != null) {
+                sessionValues.add(Arrays.asList(session.getLevels()));
+            }
+            if (teams) {
+                sessionValues.add(session.getWorldCache().getScoreboard().getTeamNames().keySet());
+            }
+            if (enchantments) {
+                sessionValues.add(session.getRegistryCache().registry(JavaRegistries.ENCHANTMENT).values().stream()
+                        .map(Enchantment::identifier).toList());
+            }
+            return new CommandTreeKey(Arrays.asList(packet.getNodes()), packet.getFirstNodeIndex(), session.locale(), sessionValues);
+        }
+    }
+
+    /**
+     * A translated command tree, shared between sessions that sent the same tree.
+     *
+     * @param commands the merged command info, before any event listeners have removed commands
+     * @param knownAliases every command name the server defined
+     * @param commandData the Bedrock commands built from all of {@code commands}
+     */
+    private record CommandTree(Map<BedrockCommandInfo, Set<String>> commands, Set<String> knownAliases, List<CommandData> commandData) {
+    }
+
     /**
      * Stores command completions so we don't have to rebuild the same values multiple times.
      */
@@ -72,7 +72,7 @@ public class JavaFinishConfigurationTranslator extends PacketTranslator<Clientbo
         craftingDataPacket.getCraftingData().addAll(CARTOGRAPHY_RECIPES);
         craftingDataPacket.getPotionMixData().addAll(Registries.POTION_MIXES.forVersion(session.getUpstream().getProtocolVersion()));
         if (session.isSentSpawnPacket()) {
-            session.getUpstream().sendPacket(craftingDataPacket);
+            session.sendUpstreamPacket(craftingDataPacket);
             // TODO proper fix to check if we've been online - in online mode (with auth screen),
             //  recipes are not yet known
             if (session.getStonecutterRecipes() != null) {
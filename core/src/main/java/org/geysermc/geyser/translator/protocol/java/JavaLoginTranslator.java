@@ -135,4 +135,9 @@ public class JavaLoginTranslator extends PacketTranslator<ClientboundLoginPacket
             session.sendDownstreamGamePacket(ServerboundPlayerLoadedPacket.INSTANCE);
         }
     }
+
+    @Override
+    public boolean dependsOnChunks() {
+        return true;
+    }
 }
@@ -96,4 +96,9 @@ public class JavaRespawnTranslator extends PacketTranslator<ClientboundRespawnPa
 
         session.sendDownstreamGamePacket(ServerboundPlayerLoadedPacket.INSTANCE);
     }
+
+    @Override
+    public boolean dependsOnChunks() {
+        return true;
+    }
 }
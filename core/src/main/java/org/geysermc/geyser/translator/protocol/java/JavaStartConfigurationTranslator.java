@@ -43,4 +43,9 @@ public class JavaStartConfigurationTranslator extends PacketTranslator<Clientbou
             erosionHandler.close();
         }
     }
+
+    @Override
+    public boolean dependsOnChunks() {
+        return true;
+    }
 }
@@ -47,6 +47,8 @@ public class JavaSetPassengersTranslator extends PacketTranslator<ClientboundSet
     public void translate(GeyserSession session, ClientboundSetPassengersPacket packet) {
         Entity entity = session.getEntityCache().getEntityByJavaId(packet.getEntityId());
         if (entity == null) return;
+        // Links to entities that the client doesn't know about would be lost
+        session.getEntityCache().ensureSpawned(entity);
 
         // Handle new/existing passengers
         List<Entity> newPassengers = new ArrayList<>();
@@ -66,6 +68,7 @@ public class JavaSetPassengersTranslator extends PacketTranslator<ClientboundSet
                 // In this case, another SetPassengers packet will be sent when the passenger is spawned.
                 continue;
             }
+            session.getEntityCache().ensureSpawned(passenger);
 
             boolean rider = packet.getPassengerIds()[0] == passengerId;
             EntityLinkData.Type type = rider ? EntityLinkData.Type.RIDER : EntityLinkData.Type.PASSENGER;
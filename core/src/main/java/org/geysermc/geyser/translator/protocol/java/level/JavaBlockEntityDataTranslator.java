@@ -146,4 +146,9 @@ public class JavaBlockEntityDataTranslator extends PacketTranslator<ClientboundB
             StructureBlockUtils.sendStructureData(session, size, name);
         }
     }
+
+    @Override
+    public boolean dependsOnChunks() {
+        return true;
+    }
 }
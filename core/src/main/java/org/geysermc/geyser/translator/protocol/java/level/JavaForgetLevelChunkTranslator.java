@@ -26,6 +26,7 @@
 package org.geysermc.geyser.translator.protocol.java.level;
 
 import org.cloudburstmc.math.vector.Vector3i;
+import org.geysermc.geyser.erosion.GeyserboundPacketHandlerImpl;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
 import org.geysermc.geyser.translator.protocol.Translator;
@@ -41,6 +42,11 @@ public class JavaForgetLevelChunkTranslator extends PacketTranslator<Clientbound
     @Override
     public void translate(GeyserSession session, ClientboundForgetLevelChunkPacket packet) {
         session.getChunkCache().removeChunk(packet.getX(), packet.getZ());
+        session.getSubChunkCache().removeColumn(packet.getX(), packet.getZ());
+        GeyserboundPacketHandlerImpl erosionHandler = session.getErosionHandler().getAsActive();
+        if (erosionHandler != null) {
+            erosionHandler.getBlockCache().removeChunk(packet.getX(), packet.getZ());
+        }
 
         // Checks if a skull is in an unloaded chunk then removes it
         List<Vector3i> removedSkulls = new ArrayList<>();
@@ -53,4 +59,9 @@ public class JavaForgetLevelChunkTranslator extends PacketTranslator<Clientbound
 
         ChunkUtils.sendEmptyChunk(session, packet.getX(), packet.getZ(), false);
     }
+
+    @Override
+    public boolean dependsOnChunks() {
+        return true;
+    }
 }
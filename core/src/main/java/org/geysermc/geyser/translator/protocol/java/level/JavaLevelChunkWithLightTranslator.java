@@ -28,6 +28,7 @@ package org.geysermc.geyser.translator.protocol.java.level;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntImmutableList;
@@ -35,7 +36,10 @@ import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntLists;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.nbt.NBTOutputStream;
 import org.cloudburstmc.nbt.NbtMap;
@@ -43,16 +47,21 @@ import org.cloudburstmc.nbt.NbtUtils;
 import org.cloudburstmc.protocol.bedrock.data.definitions.BlockDefinition;
 import org.cloudburstmc.protocol.bedrock.packet.LevelChunkPacket;
 import org.geysermc.geyser.entity.type.ItemFrameEntity;
+import org.geysermc.geyser.erosion.GeyserboundPacketHandlerImpl;
 import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.level.block.type.Block;
 import org.geysermc.geyser.level.block.type.BlockState;
 import org.geysermc.geyser.level.chunk.BlockStorage;
 import org.geysermc.geyser.level.chunk.GeyserChunkSection;
+import org.geysermc.geyser.level.chunk.TranslatedChunkSectionCache;
 import org.geysermc.geyser.level.chunk.bitarray.BitArray;
 import org.geysermc.geyser.level.chunk.bitarray.BitArrayVersion;
+import org.geysermc.geyser.level.chunk.bitarray.SectionTranscoder;
 import org.geysermc.geyser.level.chunk.bitarray.SingletonBitArray;
 import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.geyser.session.ChunkTranslationQueue;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.ChunkBlobCache;
 import org.geysermc.geyser.translator.level.BiomeTranslator;
 import org.geysermc.geyser.translator.level.block.entity.BedrockChunkWantsBlockEntityTag;
 import org.geysermc.geyser.translator.level.block.entity.BlockEntityTranslator;
@@ -73,322 +82,398 @@ import org.geysermc.mcprotocollib.protocol.data.game.level.block.BlockEntityType
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundLevelChunkWithLightPacket;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
 
 import static org.geysermc.geyser.util.ChunkUtils.*;
 
 @Translator(packet = ClientboundLevelChunkWithLightPacket.class)
 public class JavaLevelChunkWithLightTranslator extends PacketTranslator<ClientboundLevelChunkWithLightPacket> {
     private static final ThreadLocal<ExtendedCollisionsStorage> EXTENDED_COLLISIONS_STORAGE = ThreadLocal.withInitial(ExtendedCollisionsStorage::new);
+    /**
+     * Bit arrays and palettes that only live until the chunk has been written, re-used between chunks on the same event loop
+     */
+    private static final ThreadLocal<SectionScratch> SECTION_SCRATCH = ThreadLocal.withInitial(SectionScratch::new);
 
     @Override
     public void translate(GeyserSession session, ClientboundLevelChunkWithLightPacket packet) {
-        final boolean useExtendedCollisions = !session.getBlockMappings().getExtendedCollisionBoxes().isEmpty();
-
         if (session.isSpawned()) {
             ChunkUtils.updateChunkPosition(session, session.getPlayerEntity().getPosition().toInt());
         }
 
         // Ensure that, if the player is using lower world heights, the position is not offset
-        int yOffset = session.getChunkCache().getChunkMinY();
-        int chunkSize = session.getChunkCache().getChunkHeightY();
+        final int yOffset = session.getChunkCache().getChunkMinY();
+        final int chunkSize = session.getChunkCache().getChunkHeightY();
+        final BedrockDimension bedrockDimension = session.getBedrockDimension();
+        // Custom skulls depend on the player's preferences, so these are looked up before the sections are handed off.
+        // The preference can change before the chunk is sent, so the same decision is used throughout.
+        final boolean showCustomSkulls = session.getPreferencesCache().showCustomSkulls();
+        final BitSet customSkullSections = TranslatedChunkSectionCache.isEnabled() ? findCustomSkullSections(showCustomSkulls, packet.getBlockEntities(), yOffset) : null;
+
+        ChunkTranslationQueue translationQueue = session.getChunkTranslationQueue();
+        if (translationQueue.isAsync()) {
+            // Chunks are translated in parallel, so each one needs its own scratch space
+            translationQueue.submit(() -> translateSections(session, packet, yOffset, chunkSize, bedrockDimension, customSkullSections, new SectionScratch()),
+                    translated -> sendChunk(session, packet, translated, yOffset, chunkSize, bedrockDimension, showCustomSkulls));
+            return;
+        }
+
+        SectionScratch scratch = SECTION_SCRATCH.get();
+        try {
+            TranslatedSections translated = translateSections(session, packet, yOffset, chunkSize, bedrockDimension, customSkullSections, scratch);
+            sendChunk(session, packet, translated, yOffset, chunkSize, bedrockDimension, showCustomSkulls);
+        } finally {
+            scratch.reset();
+        }
+    }
+
+    /**
+     * Converts the block data of this chunk to Bedrock sections. Apart from the values passed in, only the session's block
+     * mappings are read here, so this can run off the session's event loop.
+     */
+    private TranslatedSections translateSections(GeyserSession session, ClientboundLevelChunkWithLightPacket packet, int yOffset, int chunkSize,
+                                                 BedrockDimension bedrockDimension, @Nullable BitSet customSkullSections, SectionScratch scratch) {
+        final boolean useExtendedCollisions = !session.getBlockMappings().getExtendedCollisionBoxes().isEmpty();
 
         DataPalette[] javaChunks = new DataPalette[chunkSize];
         DataPalette[] javaBiomes = new DataPalette[chunkSize];
 
-        final BlockEntityInfo[] blockEntities = packet.getBlockEntities();
-        final List<NbtMap> bedrockBlockEntities = new ObjectArrayList<>(blockEntities.length);
+        final List<NbtMap> bedrockBlockEntities = new ObjectArrayList<>(packet.getBlockEntities().length);
 
         BitSet waterloggedPaletteIds = new BitSet();
         BitSet bedrockOnlyBlockEntityIds = new BitSet();
 
-        BedrockDimension bedrockDimension = session.getBedrockDimension();
         int maxBedrockSectionY = (bedrockDimension.height() >> 4) - 1;
 
-        int sectionCount;
-        byte[] payload;
-        ByteBuf byteBuf = null;
-
         // calculate the difference between the java dimension minY and the bedrock dimension minY as
         // the java chunk sections may need to be placed higher up in the bedrock chunk section array
         int sectionCountDiff = yOffset - (bedrockDimension.minY() >> 4);
         GeyserChunkSection[] sections = new GeyserChunkSection[chunkSize + sectionCountDiff];
 
-        try {
-            ByteBuf in = Unpooled.wrappedBuffer(packet.getChunkData());
-            boolean extendedCollisionNextSection = false;
-            for (int sectionY = 0; sectionY < chunkSize; sectionY++) {
-                ChunkSection javaSection = MinecraftTypes.readChunkSection(in);
-                javaChunks[sectionY] = javaSection.getChunkData();
-                javaBiomes[sectionY] = javaSection.getBiomeData();
-                boolean extendedCollision = extendedCollisionNextSection;
-                boolean thisExtendedCollisionNextSection = false;
-
-                int bedrockSectionY = sectionY + sectionCountDiff;
-                int subChunkIndex = sectionY + yOffset;
-                if (bedrockSectionY < 0 || maxBedrockSectionY < bedrockSectionY) {
-                    // Ignore this chunk section since it goes outside the bounds accepted by the Bedrock client
-                    if (useExtendedCollisions) {
-                        EXTENDED_COLLISIONS_STORAGE.get().clear();
-                    }
-                    extendedCollisionNextSection = false;
-                    continue;
-                }
-
-                // No need to encode an empty section...
-                if (javaSection.isBlockCountEmpty()) {
-                    // Unless we need to send extended collisions
-                    if (useExtendedCollisions) {
-                        if (extendedCollision) {
-                            int blocks = EXTENDED_COLLISIONS_STORAGE.get().bottomLayerCollisions() + 1;
-                            BitArray bedrockData = BitArrayVersion.forBitsCeil(Integer.SIZE - Integer.numberOfLeadingZeros(blocks)).createArray(BlockStorage.SIZE);
-                            BlockStorage layer0 = new BlockStorage(bedrockData, new IntArrayList(blocks));
-    
-                            layer0.idFor(session.getBlockMappings().getBedrockAir().getRuntimeId());
-                            for (int yzx = 0; yzx < BlockStorage.SIZE / 16; yzx++) {
-                                if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
-                                    bedrockData.set(indexYZXtoXZY(yzx), layer0.idFor(EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY)));
-                                    EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
-                                }
-                            }
-    
-                            BlockStorage[] layers = new BlockStorage[]{ layer0 };
-                            sections[bedrockSectionY] = new GeyserChunkSection(layers, subChunkIndex);
-                        }
-                        EXTENDED_COLLISIONS_STORAGE.get().clear();
-                        extendedCollisionNextSection = false;
-                    }
-                    continue;
+        // Sections that were translated by any session before can be taken as-is from the shared cache.
+        // Extended collisions carry state between sections, so these can't be cached.
+        final boolean useSectionCache = !useExtendedCollisions && customSkullSections != null;
+        byte[][] encodedSections = useSectionCache ? new byte[sections.length][] : null;
+
+        ByteBuf in = Unpooled.wrappedBuffer(packet.getChunkData());
+        boolean extendedCollisionNextSection = false;
+        for (int sectionY = 0; sectionY < chunkSize; sectionY++) {
+            int sectionStart = in.readerIndex();
+            ChunkSection javaSection = MinecraftTypes.readChunkSection(in);
+            javaChunks[sectionY] = javaSection.getChunkData();
+            javaBiomes[sectionY] = javaSection.getBiomeData();
+            boolean extendedCollision = extendedCollisionNextSection;
+            boolean thisExtendedCollisionNextSection = false;
+
+            int bedrockSectionY = sectionY + sectionCountDiff;
+            int subChunkIndex = sectionY + yOffset;
+            if (bedrockSectionY < 0 || maxBedrockSectionY < bedrockSectionY) {
+                // Ignore this chunk section since it goes outside the bounds accepted by the Bedrock client
+                if (useExtendedCollisions) {
+                    EXTENDED_COLLISIONS_STORAGE.get().clear();
                 }
+                extendedCollisionNextSection = false;
+                continue;
+            }
 
-                Palette javaPalette = javaSection.getChunkData().getPalette();
-                BitStorage javaData = javaSection.getChunkData().getStorage();
-
-                if (javaPalette instanceof GlobalPalette) {
-                    // As this is the global palette, simply iterate through the whole chunk section once
-                    GeyserChunkSection section = new GeyserChunkSection(session.getBlockMappings().getBedrockAir().getRuntimeId(), subChunkIndex);
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int javaId = javaData.get(yzx);
-                        BlockState state = BlockState.of(javaId);
-                        int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
-                        int xzy = indexYZXtoXZY(yzx);
-                        section.getBlockStorageArray()[0].setFullBlock(xzy, bedrockId);
-
-                        if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
-                            section.getBlockStorageArray()[1].setFullBlock(xzy, session.getBlockMappings().getBedrockWater().getRuntimeId());
-                        }
+            // No need to encode an empty section...
+            if (javaSection.isBlockCountEmpty()) {
+                // Unless we need to send extended collisions
+                if (useExtendedCollisions) {
+                    if (extendedCollision) {
+                        int blocks = EXTENDED_COLLISIONS_STORAGE.get().bottomLayerCollisions() + 1;
+                        BitArray bedrockData = BitArrayVersion.forBitsCeil(Integer.SIZE - Integer.numberOfLeadingZeros(blocks)).createArray(BlockStorage.SIZE);
+                        BlockStorage layer0 = new BlockStorage(bedrockData, new IntArrayList(blocks));
 
-                        // Extended collision blocks
-                        if (useExtendedCollisions) {
+                        layer0.idFor(session.getBlockMappings().getBedrockAir().getRuntimeId());
+                        for (int yzx = 0; yzx < BlockStorage.SIZE / 16; yzx++) {
                             if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
-                                if (javaId == Block.JAVA_AIR_ID) {
-                                    section.getBlockStorageArray()[0].setFullBlock(xzy, EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY));
-                                }
+                                bedrockData.set(indexYZXtoXZY(yzx), layer0.idFor(EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY)));
                                 EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
-                                continue;
-                            }
-                            BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings().getExtendedCollisionBoxes().get(javaId);
-                            if (aboveBedrockExtendedCollisionDefinition != null) {
-                                EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
-                                if ((xzy & 0xF) == 15) {
-                                    thisExtendedCollisionNextSection = true;
-                                }
                             }
                         }
 
-                        // Check if block is piston or flower to see if we'll need to create additional block entities, as they're only block entities in Bedrock
-                        if (state.block() instanceof BedrockChunkWantsBlockEntityTag blockEntity) {
-                            bedrockBlockEntities.add(blockEntity.createTag(session,
-                                    Vector3i.from((packet.getX() << 4) + (yzx & 0xF), ((sectionY + yOffset) << 4) + ((yzx >> 8) & 0xF), (packet.getZ() << 4) + ((yzx >> 4) & 0xF)),
-                                    state
-                            ));
-                        }
+                        BlockStorage[] layers = new BlockStorage[]{ layer0 };
+                        sections[bedrockSectionY] = new GeyserChunkSection(layers, subChunkIndex);
                     }
-                    sections[bedrockSectionY] = section;
-                    extendedCollisionNextSection = thisExtendedCollisionNextSection;
+                    EXTENDED_COLLISIONS_STORAGE.get().clear();
+                    extendedCollisionNextSection = false;
+                }
+                continue;
+            }
+
+            Palette javaPalette = javaSection.getChunkData().getPalette();
+            BitStorage javaData = javaSection.getChunkData().getStorage();
+
+            TranslatedChunkSectionCache.SectionKey sectionKey = null;
+            if (useSectionCache && !(javaPalette instanceof SingletonPalette) && !customSkullSections.get(sectionY)) {
+                sectionKey = TranslatedChunkSectionCache.key(session, packet.getChunkData(), sectionStart, in.readerIndex() - sectionStart, subChunkIndex);
+                byte[] encodedSection = TranslatedChunkSectionCache.get(sectionKey);
+                if (encodedSection != null) {
+                    encodedSections[bedrockSectionY] = encodedSection;
                     continue;
                 }
+            }
 
-                if (javaPalette instanceof SingletonPalette) {
-                    // There's only one block here. Very easy!
-                    int javaId = javaPalette.idToState(0);
+            if (javaPalette instanceof GlobalPalette) {
+                int blockEntitiesBefore = bedrockBlockEntities.size();
+                int[] javaIds = scratch.javaValues();
+                SectionTranscoder.unpack(javaData, javaIds);
+                // As this is the global palette, simply iterate through the whole chunk section once
+                GeyserChunkSection section = new GeyserChunkSection(session.getBlockMappings().getBedrockAir().getRuntimeId(), subChunkIndex);
+                for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                    int javaId = javaIds[yzx];
+                    BlockState state = BlockState.of(javaId);
                     int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
-                    BlockStorage blockStorage = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(bedrockId));
+                    int xzy = indexYZXtoXZY(yzx);
+                    section.getBlockStorageArray()[0].setFullBlock(xzy, bedrockId);
 
                     if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
-                        BlockStorage waterlogged = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(session.getBlockMappings().getBedrockWater().getRuntimeId()));
-                        sections[bedrockSectionY] = new GeyserChunkSection(new BlockStorage[] {blockStorage, waterlogged}, subChunkIndex);
-                    } else {
-                        sections[bedrockSectionY] = new GeyserChunkSection(new BlockStorage[] {blockStorage}, subChunkIndex);
+                        section.getBlockStorageArray()[1].setFullBlock(xzy, session.getBlockMappings().getBedrockWater().getRuntimeId());
                     }
+
+                    // Extended collision blocks
                     if (useExtendedCollisions) {
-                        EXTENDED_COLLISIONS_STORAGE.get().clear();
-                        extendedCollisionNextSection = false;
+                        if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
+                            if (javaId == Block.JAVA_AIR_ID) {
+                                section.getBlockStorageArray()[0].setFullBlock(xzy, EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY));
+                            }
+                            EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
+                            continue;
+                        }
+                        BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings().getExtendedCollisionBoxes().get(javaId);
+                        if (aboveBedrockExtendedCollisionDefinition != null) {
+                            EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
+                            if ((xzy & 0xF) == 15) {
+                                thisExtendedCollisionNextSection = true;
+                            }
+                        }
+                    }
+
+                    // Check if block is piston or flower to see if we'll need to create additional block entities, as they're only block entities in Bedrock
+                    if (state.block() instanceof BedrockChunkWantsBlockEntityTag blockEntity) {
+                        bedrockBlockEntities.add(blockEntity.createTag(session,
+                                Vector3i.from((packet.getX() << 4) + (yzx & 0xF), ((sectionY + yOffset) << 4) + ((yzx >> 8) & 0xF), (packet.getZ() << 4) + ((yzx >> 4) & 0xF)),
+                                state
+                        ));
                     }
-                    // If a chunk contains all of the same piston or flower pot then god help us
-                    continue;
                 }
+                if (sectionKey != null && bedrockBlockEntities.size() == blockEntitiesBefore) {
+                    encodedSections[bedrockSectionY] = TranslatedChunkSectionCache.store(sectionKey, section);
+                } else {
+                    sections[bedrockSectionY] = section;
+                }
+                extendedCollisionNextSection = thisExtendedCollisionNextSection;
+                continue;
+            }
 
-                IntList bedrockPalette = new IntArrayList(javaPalette.size());
-                int airPaletteId = -1;
-                waterloggedPaletteIds.clear();
-                bedrockOnlyBlockEntityIds.clear();
+            if (javaPalette instanceof SingletonPalette) {
+                // There's only one block here. Very easy!
+                int javaId = javaPalette.idToState(0);
+                int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
+                BlockStorage blockStorage = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(bedrockId));
 
-                // Iterate through palette and convert state IDs to Bedrock, doing some additional checks as we go
-                int extendedCollisionsInPalette = 0;
-                for (int i = 0; i < javaPalette.size(); i++) {
-                    int javaId = javaPalette.idToState(i);
-                    bedrockPalette.add(session.getBlockMappings().getBedrockBlockId(javaId));
+                if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
+                    BlockStorage waterlogged = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(session.getBlockMappings().getBedrockWater().getRuntimeId()));
+                    sections[bedrockSectionY] = new GeyserChunkSection(new BlockStorage[] {blockStorage, waterlogged}, subChunkIndex);
+                } else {
+                    sections[bedrockSectionY] = new GeyserChunkSection(new BlockStorage[] {blockStorage}, subChunkIndex);
+                }
+                if (useExtendedCollisions) {
+                    EXTENDED_COLLISIONS_STORAGE.get().clear();
+                    extendedCollisionNextSection = false;
+                }
+                // If a chunk contains all of the same piston or flower pot then god help us
+                continue;
+            }
 
-                    if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
-                        waterloggedPaletteIds.set(i);
-                    }
+            IntList bedrockPalette = scratch.palette();
+            int airPaletteId = -1;
+            waterloggedPaletteIds.clear();
+            bedrockOnlyBlockEntityIds.clear();
 
-                    if (javaId == Block.JAVA_AIR_ID) {
-                        airPaletteId = i;
-                    }
+            // Iterate through palette and convert state IDs to Bedrock, doing some additional checks as we go
+            int extendedCollisionsInPalette = 0;
+            for (int i = 0; i < javaPalette.size(); i++) {
+                int javaId = javaPalette.idToState(i);
+                bedrockPalette.add(session.getBlockMappings().getBedrockBlockId(javaId));
 
-                    if (useExtendedCollisions) {
-                        if (session.getBlockMappings().getExtendedCollisionBoxes().get(javaId) != null) {
-                            extendedCollision = true;
-                            extendedCollisionsInPalette++;
-                        }
-                    }
+                if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
+                    waterloggedPaletteIds.set(i);
+                }
 
-                    // Check if block is piston, flower or cauldron to see if we'll need to create additional block entities, as they're only block entities in Bedrock
-                    // TODO this needs a performance check when my head is clearer
-                    BlockState state = BlockState.of(javaId);
-                    if (state.block() instanceof BedrockChunkWantsBlockEntityTag) {
-                        bedrockOnlyBlockEntityIds.set(i);
-                    }
+                if (javaId == Block.JAVA_AIR_ID) {
+                    airPaletteId = i;
                 }
 
-                // Add Bedrock-exclusive block entities
-                // We only if the palette contained any blocks that are Bedrock-exclusive block entities to avoid iterating through the whole block data
-                // for no reason, as most sections will not contain any pistons or flower pots
-                if (!bedrockOnlyBlockEntityIds.isEmpty()) {
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        if (bedrockOnlyBlockEntityIds.get(paletteId)) {
-                            BlockState state = BlockState.of(javaPalette.idToState(paletteId));
-                            bedrockBlockEntities.add(((BedrockChunkWantsBlockEntityTag) state.block()).createTag(session,
-                                    Vector3i.from((packet.getX() << 4) + (yzx & 0xF), ((sectionY + yOffset) << 4) + ((yzx >> 8) & 0xF), (packet.getZ() << 4) + ((yzx >> 4) & 0xF)),
-                                    state
-                            ));
-                        }
+                if (useExtendedCollisions) {
+                    if (session.getBlockMappings().getExtendedCollisionBoxes().get(javaId) != null) {
+                        extendedCollision = true;
+                        extendedCollisionsInPalette++;
                     }
                 }
 
-                // We need to ensure we use enough bits to represent extended collision blocks in the chunk section
-                int sectionCollisionBlocks = 0;
-                if (useExtendedCollisions) {
-                    int bottomLayerCollisions = extendedCollision ? EXTENDED_COLLISIONS_STORAGE.get().bottomLayerCollisions() : 0;
-                    sectionCollisionBlocks = bottomLayerCollisions + extendedCollisionsInPalette;
+                // Check if block is piston, flower or cauldron to see if we'll need to create additional block entities, as they're only block entities in Bedrock
+                // TODO this needs a performance check when my head is clearer
+                BlockState state = BlockState.of(javaId);
+                if (state.block() instanceof BedrockChunkWantsBlockEntityTag) {
+                    bedrockOnlyBlockEntityIds.set(i);
                 }
-                int bedrockDataBits = Integer.SIZE - Integer.numberOfLeadingZeros(javaPalette.size() + sectionCollisionBlocks);
-                BitArray bedrockData = BitArrayVersion.forBitsCeil(bedrockDataBits).createArray(BlockStorage.SIZE);
-                BlockStorage layer0 = new BlockStorage(bedrockData, bedrockPalette);
-                BlockStorage[] layers;
-
-                // Convert data array from YZX to XZY coordinate order
-                if (waterloggedPaletteIds.isEmpty() && !extendedCollision) {
-                    // No blocks are waterlogged, simply convert coordinate order
-                    // This could probably be optimized further...
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        int xzy = indexYZXtoXZY(yzx);
-                        bedrockData.set(xzy, paletteId);
-                    }
+            }
 
-                    layers = new BlockStorage[]{ layer0 };
-                } else if (!waterloggedPaletteIds.isEmpty() && !extendedCollision) {
-                    // The section contains waterlogged blocks, we need to convert coordinate order AND generate a V1 block storage for
-                    // layer 1 with palette ID 1 indicating water
-                    int[] layer1Data = new int[BlockStorage.SIZE >> 5];
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        int xzy = indexYZXtoXZY(yzx);
-                        bedrockData.set(xzy, paletteId);
-
-                        if (waterloggedPaletteIds.get(paletteId)) {
-                            layer1Data[xzy >> 5] |= 1 << (xzy & 0x1F);
-                        }
+            int[] paletteIds = scratch.javaValues();
+            SectionTranscoder.unpack(javaData, paletteIds);
+
+            // Add Bedrock-exclusive block entities
+            // We only if the palette contained any blocks that are Bedrock-exclusive block entities to avoid iterating through the whole block data
+            // for no reason, as most sections will not contain any pistons or flower pots
+            if (!bedrockOnlyBlockEntityIds.isEmpty()) {
+                for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                    int paletteId = paletteIds[yzx];
+                    if (bedrockOnlyBlockEntityIds.get(paletteId)) {
+                        BlockState state = BlockState.of(javaPalette.idToState(paletteId));
+                        bedrockBlockEntities.add(((BedrockChunkWantsBlockEntityTag) state.block()).createTag(session,
+                                Vector3i.from((packet.getX() << 4) + (yzx & 0xF), ((sectionY + yOffset) << 4) + ((yzx >> 8) & 0xF), (packet.getZ() << 4) + ((yzx >> 4) & 0xF)),
+                                state
+                        ));
                     }
-                    
-                    // V1 palette
-                    IntList layer1Palette = IntList.of(
-                            session.getBlockMappings().getBedrockAir().getRuntimeId(), // Air - see BlockStorage's constructor for more information
-                            session.getBlockMappings().getBedrockWater().getRuntimeId());
-
-                    layers = new BlockStorage[]{ layer0, new BlockStorage(BitArrayVersion.V1.createArray(BlockStorage.SIZE, layer1Data), layer1Palette) };
-                } else if (waterloggedPaletteIds.isEmpty()) {
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        int xzy = indexYZXtoXZY(yzx);
-                        bedrockData.set(xzy, paletteId);
+                }
+            }
 
-                        if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
-                            if (paletteId == airPaletteId) {
-                                bedrockData.set(xzy, layer0.idFor(EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY)));
-                            }
-                            EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
-                            continue;
+            // We need to ensure we use enough bits to represent extended collision blocks in the chunk section
+            int sectionCollisionBlocks = 0;
+            if (useExtendedCollisions) {
+                int bottomLayerCollisions = extendedCollision ? EXTENDED_COLLISIONS_STORAGE.get().bottomLayerCollisions() : 0;
+                sectionCollisionBlocks = bottomLayerCollisions + extendedCollisionsInPalette;
+            }
+            int bedrockDataBits = Integer.SIZE - Integer.numberOfLeadingZeros(javaPalette.size() + sectionCollisionBlocks);
+            BitArray bedrockData = scratch.bitArray(BitArrayVersion.forBitsCeil(bedrockDataBits));
+            BlockStorage layer0 = new BlockStorage(bedrockData, bedrockPalette);
+            BlockStorage[] layers;
+
+            // Convert data array from YZX to XZY coordinate order
+            if (waterloggedPaletteIds.isEmpty() && !extendedCollision) {
+                // No blocks are waterlogged, simply convert coordinate order
+                SectionTranscoder.packXZY(paletteIds, bedrockData);
+
+                layers = new BlockStorage[]{ layer0 };
+            } else if (!waterloggedPaletteIds.isEmpty() && !extendedCollision) {
+                // The section contains waterlogged blocks, we need to convert coordinate order AND generate a V1 block storage for
+                // layer 1 with palette ID 1 indicating water
+                BitArray layer1Data = scratch.bitArray(BitArrayVersion.V1);
+                SectionTranscoder.packXZY(paletteIds, bedrockData);
+                SectionTranscoder.packFlagsXZY(paletteIds, waterloggedPaletteIds, layer1Data);
+
+                // V1 palette
+                IntList layer1Palette = IntList.of(
+                        session.getBlockMappings().getBedrockAir().getRuntimeId(), // Air - see BlockStorage's constructor for more information
+                        session.getBlockMappings().getBedrockWater().getRuntimeId());
+
+                layers = new BlockStorage[]{ layer0, new BlockStorage(layer1Data, layer1Palette) };
+            } else if (waterloggedPaletteIds.isEmpty()) {
+                for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                    int paletteId = paletteIds[yzx];
+                    int xzy = indexYZXtoXZY(yzx);
+                    bedrockData.set(xzy, paletteId);
+
+                    if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
+                        if (paletteId == airPaletteId) {
+                            bedrockData.set(xzy, layer0.idFor(EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY)));
                         }
-                        BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings()
-                                .getExtendedCollisionBoxes().get(javaPalette.idToState(paletteId));
-                        if (aboveBedrockExtendedCollisionDefinition != null) {
-                            EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
-                            if ((xzy & 0xF) == 15) {
-                                thisExtendedCollisionNextSection = true;
-                            }
+                        EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
+                        continue;
+                    }
+                    BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings()
+                            .getExtendedCollisionBoxes().get(javaPalette.idToState(paletteId));
+                    if (aboveBedrockExtendedCollisionDefinition != null) {
+                        EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
+                        if ((xzy & 0xF) == 15) {
+                            thisExtendedCollisionNextSection = true;
                         }
                     }
+                }
 
-                    layers = new BlockStorage[]{ layer0 };
-                } else {
-                    int[] layer1Data = new int[BlockStorage.SIZE >> 5];
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        int xzy = indexYZXtoXZY(yzx);
-                        bedrockData.set(xzy, paletteId);
-
-                        if (waterloggedPaletteIds.get(paletteId)) {
-                            layer1Data[xzy >> 5] |= 1 << (xzy & 0x1F);
-                        }
+                layers = new BlockStorage[]{ layer0 };
+            } else {
+                BitArray layer1Data = scratch.waterloggedLayer();
+                for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                    int paletteId = paletteIds[yzx];
+                    int xzy = indexYZXtoXZY(yzx);
+                    bedrockData.set(xzy, paletteId);
 
-                        if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
-                            if (paletteId == airPaletteId) {
-                                bedrockData.set(xzy, layer0.idFor(EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY)));
-                            }
-                            EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
-                            continue;
+                    if (waterloggedPaletteIds.get(paletteId)) {
+                        layer1Data.getWords()[xzy >> 5] |= 1 << (xzy & 0x1F);
+                    }
+
+                    if (EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY) != 0) {
+                        if (paletteId == airPaletteId) {
+                            bedrockData.set(xzy, layer0.idFor(EXTENDED_COLLISIONS_STORAGE.get().get(yzx, sectionY)));
                         }
-                        BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings().getExtendedCollisionBoxes()
-                                .get(javaPalette.idToState(paletteId));
-                        if (aboveBedrockExtendedCollisionDefinition != null) {
-                            EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
-                            if ((xzy & 0xF) == 15) {
-                                thisExtendedCollisionNextSection = true;
-                            }
+                        EXTENDED_COLLISIONS_STORAGE.get().set(yzx, 0, sectionY);
+                        continue;
+                    }
+                    BlockDefinition aboveBedrockExtendedCollisionDefinition = session.getBlockMappings().getExtendedCollisionBoxes()
+                            .get(javaPalette.idToState(paletteId));
+                    if (aboveBedrockExtendedCollisionDefinition != null) {
+                        EXTENDED_COLLISIONS_STORAGE.get().set((yzx + 0x100) & 0xFFF, aboveBedrockExtendedCollisionDefinition.getRuntimeId(), sectionY);
+                        if ((xzy & 0xF) == 15) {
+                            thisExtendedCollisionNextSection = true;
                         }
                     }
+                }
 
-                    // V1 palette
-                    IntList layer1Palette = IntList.of(
-                            session.getBlockMappings().getBedrockAir().getRuntimeId(), // Air - see BlockStorage's constructor for more information
-                            session.getBlockMappings().getBedrockWater().getRuntimeId());
+                // V1 palette
+                IntList layer1Palette = IntList.of(
+                        session.getBlockMappings().getBedrockAir().getRuntimeId(), // Air - see BlockStorage's constructor for more information
+                        session.getBlockMappings().getBedrockWater().getRuntimeId());
 
-                    layers = new BlockStorage[]{ layer0, new BlockStorage(BitArrayVersion.V1.createArray(BlockStorage.SIZE, layer1Data), layer1Palette) };
-                }
+                layers = new BlockStorage[]{ layer0, new BlockStorage(layer1Data, layer1Palette) };
+            }
 
-                sections[bedrockSectionY] = new GeyserChunkSection(layers, subChunkIndex);
-                extendedCollisionNextSection = thisExtendedCollisionNextSection;
+            GeyserChunkSection section = new GeyserChunkSection(layers, subChunkIndex);
+            if (sectionKey != null && bedrockOnlyBlockEntityIds.isEmpty()) {
+                // Bedrock-only block entities are created per session, so these sections can't be shared
+                encodedSections[bedrockSectionY] = TranslatedChunkSectionCache.store(sectionKey, section);
+            } else {
+                sections[bedrockSectionY] = section;
             }
+            extendedCollisionNextSection = thisExtendedCollisionNextSection;
+        }
+
+        return new TranslatedSections(javaChunks, javaBiomes, sections, encodedSections, bedrockBlockEntities);
+    }
+
+    /**
+     * Caches the Java chunk, adds block entities and sends the chunk to the client. This has to run on the session's event loop.
+     */
+    private void sendChunk(GeyserSession session, ClientboundLevelChunkWithLightPacket packet, TranslatedSections translated,
+                           int yOffset, int chunkSize, BedrockDimension bedrockDimension, boolean showCustomSkulls) {
+        final DataPalette[] javaChunks = translated.javaChunks();
+        final DataPalette[] javaBiomes = translated.javaBiomes();
+        final GeyserChunkSection[] sections = translated.sections();
+        final byte[][] encodedSections = translated.encodedSections();
+        final List<NbtMap> bedrockBlockEntities = translated.bedrockBlockEntities();
+        final BlockEntityInfo[] blockEntities = packet.getBlockEntities();
 
-            if (!session.getErosionHandler().isActive()) {
+        int maxBedrockSectionY = (bedrockDimension.height() >> 4) - 1;
+
+        int sectionCount;
+        ByteBuf payload;
+        ByteBuf byteBuf = null;
+
+        // In request mode, only biomes are sent up front and the client asks for the sections it needs
+        final boolean requestSubChunks = session.getSubChunkCache().isEnabled();
+        ChunkBlobCache blobCache = session.getChunkBlobCache();
+        LongList blobIds = blobCache.isEnabled() && !requestSubChunks ? new LongArrayList() : null;
+
+        try {
+            GeyserboundPacketHandlerImpl erosionHandler = session.getErosionHandler().getAsActive();
+            if (erosionHandler == null) {
                 session.getChunkCache().addToCache(packet.getX(), packet.getZ(), javaChunks);
+            } else {
+                // Whatever we mirrored of the old chunk may be outdated now
+                erosionHandler.getBlockCache().removeChunk(packet.getX(), packet.getZ());
             }
 
             final int chunkBlockX = packet.getX() << 4;
@@ -419,7 +504,7 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                     bedrockBlockEntities.add(blockEntityTranslator.getBlockEntityTag(session, type, x + chunkBlockX, y, z + chunkBlockZ, tag, blockState));
 
                     // Check for custom skulls
-                    if (session.getPreferencesCache().showCustomSkulls() && type == BlockEntityType.SKULL && tag != null && tag.containsKey("profile")) {
+                    if (showCustomSkulls && type == BlockEntityType.SKULL && tag != null && tag.containsKey("profile")) {
                         BlockDefinition blockDefinition = SkullBlockEntityTranslator.translateSkull(session, tag, Vector3i.from(x + chunkBlockX, y, z + chunkBlockZ), blockState);
                         if (blockDefinition != null) {
                             int bedrockSectionY = (y >> 4) - (bedrockDimension.minY() >> 4);
@@ -442,7 +527,7 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
 
             // Find highest section
             sectionCount = sections.length - 1;
-            while (sectionCount >= 0 && sections[sectionCount] == null) {
+            while (sectionCount >= 0 && sections[sectionCount] == null && (encodedSections == null || encodedSections[sectionCount] == null)) {
                 sectionCount--;
             }
             sectionCount++;
@@ -456,6 +541,8 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                 GeyserChunkSection section = sections[i];
                 if (section != null) {
                     size += section.estimateNetworkSize();
+                } else if (encodedSections != null && encodedSections[i] != null) {
+                    size += encodedSections[i].length;
                 } else {
                     size += EMPTY_CHUNK_SECTION_SIZE;
                 }
@@ -466,13 +553,25 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
 
             // Allocate output buffer
             byteBuf = ByteBufAllocator.DEFAULT.ioBuffer(size);
-            for (int i = 0; i < sectionCount; i++) {
-                GeyserChunkSection section = sections[i];
-                if (section != null) {
-                    section.writeToNetwork(byteBuf);
-                } else {
-                    int subChunkIndex = (i + (bedrockDimension.minY() >> 4));
-                    new GeyserChunkSection(EMPTY_BLOCK_STORAGE, subChunkIndex).writeToNetwork(byteBuf);
+            if (requestSubChunks) {
+                storeRequestableSections(session, packet, sections, encodedSections, bedrockBlockEntities, sectionCount, bedrockDimension);
+            } else {
+                for (int i = 0; i < sectionCount; i++) {
+                    GeyserChunkSection section = sections[i];
+                    if (section != null) {
+                        section.writeToNetwork(byteBuf);
+                    } else if (encodedSections != null && encodedSections[i] != null) {
+                        byteBuf.writeBytes(encodedSections[i]);
+                    } else {
+                        int subChunkIndex = (i + (bedrockDimension.minY() >> 4));
+                        new GeyserChunkSection(EMPTY_BLOCK_STORAGE, subChunkIndex).writeToNetwork(byteBuf);
+                    }
+
+                    if (blobIds != null) {
+                        // Each section is its own blob; the client will ask for it if it isn't stored yet
+                        blobCache.addBlob(byteBuf, blobIds);
+                        byteBuf.clear();
+                    }
                 }
             }
 
@@ -494,40 +593,184 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                 BiomeTranslator.toNewBedrockBiome(session, javaBiomes[i + (dimensionOffset - yOffset)]).writeToNetwork(byteBuf);
             }
 
+            if (blobIds != null) {
+                // All biome data is sent as one blob after the sections
+                blobCache.addBlob(byteBuf, blobIds);
+                byteBuf.clear();
+            }
+
             byteBuf.writeByte(0); // Border blocks - Edu edition only
 
-            // Encode tile entities into buffer
-            NBTOutputStream nbtStream = NbtUtils.createNetworkWriter(new ByteBufOutputStream(byteBuf));
-            for (NbtMap blockEntity : bedrockBlockEntities) {
-                nbtStream.writeTag(blockEntity);
+            if (!requestSubChunks) {
+                // Encode tile entities into buffer
+                NBTOutputStream nbtStream = NbtUtils.createNetworkWriter(new ByteBufOutputStream(byteBuf));
+                for (NbtMap blockEntity : bedrockBlockEntities) {
+                    nbtStream.writeTag(blockEntity);
+                }
             }
-            payload = new byte[byteBuf.readableBytes()];
-            byteBuf.readBytes(payload);
+            // The packet takes ownership of the buffer and releases it once it has been encoded
+            payload = byteBuf;
+            byteBuf = null;
         } catch (IOException e) {
             session.getGeyser().getLogger().error("IO error while encoding chunk", e);
             return;
         } finally {
             if (byteBuf != null) {
-                byteBuf.release(); // Release buffer to allow buffer pooling to be useful
+                byteBuf.release(); // Only reached if encoding failed
             }
         }
 
         LevelChunkPacket levelChunkPacket = new LevelChunkPacket();
-        levelChunkPacket.setSubChunksLength(sectionCount);
-        levelChunkPacket.setCachingEnabled(false);
+        if (requestSubChunks) {
+            levelChunkPacket.setRequestSubChunks(true);
+            levelChunkPacket.setSubChunkLimit(sectionCount);
+        } else {
+            levelChunkPacket.setSubChunksLength(sectionCount);
+        }
+        if (blobIds != null) {
+            levelChunkPacket.setCachingEnabled(true);
+            levelChunkPacket.getBlobIds().addAll(blobIds);
+        } else {
+            levelChunkPacket.setCachingEnabled(false);
+        }
         levelChunkPacket.setChunkX(packet.getX());
         levelChunkPacket.setChunkZ(packet.getZ());
-        levelChunkPacket.setData(Unpooled.wrappedBuffer(payload));
+        levelChunkPacket.setData(payload);
         levelChunkPacket.setDimension(session.getBedrockDimension().bedrockId());
         session.sendUpstreamPacket(levelChunkPacket);
 
-        for (Map.Entry<Vector3i, ItemFrameEntity> entry : session.getItemFrameCache().entrySet()) {
-            Vector3i position = entry.getKey();
-            if ((position.getX() >> 4) == packet.getX() && (position.getZ() >> 4) == packet.getZ()) {
-                // Update this item frame so it doesn't get lost in the abyss
-                //TODO optimize
-                entry.getValue().updateBlock(true);
+        for (ItemFrameEntity itemFrame : session.getItemFrameCache().getInChunk(packet.getX(), packet.getZ())) {
+            // Update this item frame so it doesn't get lost in the abyss
+            itemFrame.updateBlock(true);
+        }
+    }
+
+    /**
+     * Encodes each section along with its block entities, so they can be sent once the client requests them.
+     */
+    private void storeRequestableSections(GeyserSession session, ClientboundLevelChunkWithLightPacket packet, GeyserChunkSection[] sections,
+                                          byte @Nullable [][] encodedSections, List<NbtMap> bedrockBlockEntities, int sectionCount,
+                                          BedrockDimension bedrockDimension) throws IOException {
+        int dimensionOffset = bedrockDimension.minY() >> 4;
+        byte[][] requestable = new byte[sectionCount][];
+        ByteBuf sectionBuf = Unpooled.buffer();
+        try {
+            NBTOutputStream nbtStream = NbtUtils.createNetworkWriter(new ByteBufOutputStream(sectionBuf));
+            for (int i = 0; i < sectionCount; i++) {
+                int subChunkIndex = i + dimensionOffset;
+                sectionBuf.clear();
+                if (sections[i] != null) {
+                    sections[i].writeToNetwork(sectionBuf);
+                } else if (encodedSections != null && encodedSections[i] != null) {
+                    sectionBuf.writeBytes(encodedSections[i]);
+                } else {
+                    new GeyserChunkSection(EMPTY_BLOCK_STORAGE, subChunkIndex).writeToNetwork(sectionBuf);
+                }
+
+                boolean hasBlockEntities = false;
+                for (NbtMap blockEntity : bedrockBlockEntities) {
+                    if ((blockEntity.getInt("y") >> 4) == subChunkIndex) {
+                        nbtStream.writeTag(blockEntity);
+                        hasBlockEntities = true;
+                    }
+                }
+
+                if (sections[i] == null && (encodedSections == null || encodedSections[i] == null) && !hasBlockEntities) {
+                    // Left as null so the client is told this section is all air
+                    continue;
+                }
+                requestable[i] = ByteBufUtil.getBytes(sectionBuf);
             }
+        } finally {
+            sectionBuf.release();
+        }
+        session.getSubChunkCache().store(packet.getX(), packet.getZ(), requestable);
+    }
+
+    /**
+     * The Bedrock sections of a chunk, either still to be encoded or taken from {@link TranslatedChunkSectionCache},
+     * along with the Java data that is kept in the chunk cache.
+     */
+    private record TranslatedSections(DataPalette[] javaChunks, DataPalette[] javaBiomes, GeyserChunkSection[] sections,
+                                      byte @Nullable [][] encodedSections, List<NbtMap> bedrockBlockEntities) {
+    }
+
+    /**
+     * @return the indexes of the Java sections that contain custom skulls, which modify the translated section
+     */
+    private static BitSet findCustomSkullSections(boolean showCustomSkulls, BlockEntityInfo[] blockEntities, int yOffset) {
+        BitSet skullSections = new BitSet();
+        if (!showCustomSkulls) {
+            return skullSections;
+        }
+        for (BlockEntityInfo blockEntity : blockEntities) {
+            if (blockEntity.getType() == BlockEntityType.SKULL && blockEntity.getNbt() != null && blockEntity.getNbt().containsKey("profile")) {
+                int sectionY = (blockEntity.getY() >> 4) - yOffset;
+                if (sectionY >= 0) {
+                    skullSections.set(sectionY);
+                }
+            }
+        }
+        return skullSections;
+    }
+
+    static final class SectionScratch {
+        private final List<List<BitArray>> bitArrays = new ObjectArrayList<>();
+        private final int[] usedBitArrays = new int[BitArrayVersion.values().length];
+        private final List<IntList> palettes = new ObjectArrayList<>();
+        private final int[] javaValues = new int[BlockStorage.SIZE];
+        private int usedPalettes;
+
+        /**
+         * @return a bit array of this version that can be written over. Its contents are undefined, so every
+         * index should be set.
+         */
+        BitArray bitArray(BitArrayVersion version) {
+            int ordinal = version.ordinal();
+            while (bitArrays.size() <= ordinal) {
+                bitArrays.add(new ObjectArrayList<>());
+            }
+            List<BitArray> pool = bitArrays.get(ordinal);
+            int used = usedBitArrays[ordinal]++;
+            if (used < pool.size()) {
+                return pool.get(used);
+            }
+            BitArray bitArray = version.createArray(BlockStorage.SIZE);
+            pool.add(bitArray);
+            return bitArray;
+        }
+
+        /**
+         * @return a cleared V1 bit array for the waterlogged layer
+         */
+        BitArray waterloggedLayer() {
+            BitArray bitArray = bitArray(BitArrayVersion.V1);
+            Arrays.fill(bitArray.getWords(), 0);
+            return bitArray;
+        }
+
+        /**
+         * @return an array for all entries of one Java section, which can be written over
+         */
+        int[] javaValues() {
+            return javaValues;
+        }
+
+        IntList palette() {
+            if (usedPalettes < palettes.size()) {
+                IntList palette = palettes.get(usedPalettes++);
+                palette.clear();
+                return palette;
+            }
+            IntList palette = new IntArrayList(16);
+            palettes.add(palette);
+            usedPalettes++;
+            return palette;
+        }
+
+        void reset() {
+            Arrays.fill(usedBitArrays, 0);
+            usedPalettes = 0;
         }
     }
 
@@ -40,4 +40,9 @@ public class JavaSectionBlocksUpdateTranslator extends PacketTranslator<Clientbo
             session.getWorldCache().updateServerCorrectBlockState(entry.getPosition(), entry.getBlock());
         }
     }
+
+    @Override
+    public boolean dependsOnChunks() {
+        return true;
+    }
 }
@@ -44,10 +44,12 @@ public class JavaSetDisplayObjectiveTranslator extends PacketTranslator<Clientbo
 
         scoreboard.displayObjective(packet.getName(), packet.getPosition());
 
-        // ScoreboardUpdater will handle it for us if the packets per second
+        // ScoreboardUpdater will send it after a delay if the packets per second
         // (for score and team packets) is higher than the first threshold
         if (pps < ScoreboardUpdater.FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD) {
             scoreboard.onUpdate();
+        } else {
+            session.getWorldCache().scheduleScoreboardUpdate();
         }
     }
 }
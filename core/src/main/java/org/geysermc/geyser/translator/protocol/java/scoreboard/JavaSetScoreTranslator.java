@@ -59,10 +59,12 @@ public class JavaSetScoreTranslator extends PacketTranslator<ClientboundSetScore
         }
         objective.setScore(packet.getOwner(), packet.getValue(), packet.getDisplay(), packet.getNumberFormat());
 
-        // ScoreboardUpdater will handle it for us if the packets per second
+        // ScoreboardUpdater will send it after a delay if the packets per second
         // (for score and team packets) is higher than the first threshold
         if (pps < ScoreboardUpdater.FIRST_SCORE_PACKETS_PER_SECOND_THRESHOLD) {
             scoreboard.onUpdate();
+        } else {
+            session.getWorldCache().scheduleScoreboardUpdate();
         }
     }
 }
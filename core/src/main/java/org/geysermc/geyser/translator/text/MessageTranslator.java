@@ -25,6 +25,9 @@
 
 package org.geysermc.geyser.translator.text;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.JoinConfiguration;
 import net.kyori.adventure.text.ScoreComponent;
@@ -39,6 +42,7 @@ import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import net.kyori.adventure.text.serializer.legacy.CharacterAndFormat;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.nbt.NbtMap;
 import org.cloudburstmc.protocol.bedrock.packet.TextPacket;
 import org.geysermc.geyser.GeyserImpl;
@@ -49,6 +53,7 @@ import org.geysermc.geyser.text.ChatDecoration;
 import org.geysermc.geyser.text.DummyLegacyHoverEventSerializer;
 import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.text.GsonComponentSerializerWrapper;
+import org.geysermc.geyser.text.MinecraftLocale;
 import org.geysermc.geyser.text.MinecraftTranslationRegistry;
 import org.geysermc.mcprotocollib.protocol.data.DefaultComponentSerializer;
 import org.geysermc.mcprotocollib.protocol.data.game.Holder;
@@ -57,6 +62,7 @@ import org.geysermc.mcprotocollib.protocol.data.game.chat.ChatTypeDecoration;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 public class MessageTranslator {
@@ -77,6 +83,11 @@ public class MessageTranslator {
     private static final String RESET = BASE + "r";
     private static final Pattern RESET_PATTERN = Pattern.compile("(" + RESET + "){2,}");
 
+    /**
+     * Translated messages, shared between all sessions. Set up in {@link #init()}.
+     */
+    private static volatile @Nullable Cache<MessageKey, String> messageCache;
+
     static {
         // Temporary fix for https://github.com/KyoriPowered/adventure/issues/447 - TODO resolve properly
         GsonComponentSerializer source = DefaultComponentSerializer.get()
@@ -166,6 +177,22 @@ public class MessageTranslator {
     }
 
     private static String convertMessage(Component message, String locale, boolean addLeadingResetFormat) {
+        Cache<MessageKey, String> cache = messageCache;
+        if (cache == null || !MinecraftLocale.isLocaleLoaded(locale)) {
+            // Until the locale has finished loading, translations fall back to the default locale
+            return renderMessage(message, locale, addLeadingResetFormat);
+        }
+
+        MessageKey key = new MessageKey(message, locale, addLeadingResetFormat);
+        String converted = cache.getIfPresent(key);
+        if (converted == null) {
+            converted = renderMessage(message, locale, addLeadingResetFormat);
+            cache.put(key, converted);
+        }
+        return converted;
+    }
+
+    private static String renderMessage(Component message, String locale, boolean addLeadingResetFormat) {
         try {
             // Translate any components that require it
             message = RENDERER.render(message, locale);
@@ -564,6 +591,39 @@ public class MessageTranslator {
     }
 
     public static void init() {
-        // no-op
+        GeyserImpl geyser = GeyserImpl.getInstance();
+        int cacheSize = geyser == null ? 0 : geyser.getConfig().getTranslatedMessageCacheSize();
+        if (cacheSize > 0) {
+            messageCache = CacheBuilder.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterAccess(10, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+        } else {
+            messageCache = null;
+        }
+    }
+
+    /**
+     * @return how well the translated message cache is doing, or null if it is disabled
+     */
+    public static @Nullable CacheStats messageCacheStats() {
+        Cache<MessageKey, String> cache = messageCache;
+        return cache == null ? null : cache.stats();
+    }
+
+    /**
+     * @return how many translated messages are currently remembered
+     */
+    public static long messageCacheSize() {
+        Cache<MessageKey, String> cache = messageCache;
+        return cache == null ? 0 : cache.size();
+    }
+
+    /**
+     * Components are immutable and compared by their contents, so the same message decoded for different sessions
+     * shares an entry.
+     */
+    private record MessageKey(Component message, String locale, boolean addLeadingResetFormat) {
     }
 }
@@ -37,6 +37,7 @@ import org.cloudburstmc.protocol.bedrock.packet.LevelChunkPacket;
 import org.cloudburstmc.protocol.bedrock.packet.NetworkChunkPublisherUpdatePacket;
 import org.cloudburstmc.protocol.bedrock.packet.UpdateBlockPacket;
 import org.geysermc.geyser.entity.type.ItemFrameEntity;
+import org.geysermc.geyser.erosion.GeyserboundPacketHandlerImpl;
 import org.geysermc.geyser.level.BedrockDimension;
 import org.geysermc.geyser.level.JavaDimension;
 import org.geysermc.geyser.level.block.Blocks;
@@ -122,8 +123,7 @@ public class ChunkUtils {
      * @param position the position of the block
      */
     public static void updateBlock(GeyserSession session, int blockState, Vector3i position) {
-        updateBlockClientSide(session, BlockState.of(blockState), position);
-        session.getChunkCache().updateBlock(position.getX(), position.getY(), position.getZ(), blockState);
+        updateBlock(session, BlockState.of(blockState), position);
     }
 
     /**
@@ -136,6 +136,10 @@ public class ChunkUtils {
     public static void updateBlock(GeyserSession session, BlockState blockState, Vector3i position) {
         updateBlockClientSide(session, blockState, position);
         session.getChunkCache().updateBlock(position.getX(), position.getY(), position.getZ(), blockState.javaId());
+        GeyserboundPacketHandlerImpl erosionHandler = session.getErosionHandler().getAsActive();
+        if (erosionHandler != null) {
+            erosionHandler.getBlockCache().update(position.getX(), position.getY(), position.getZ(), blockState.javaId());
+        }
     }
 
     /**
@@ -154,37 +158,33 @@ public class ChunkUtils {
         }
 
         blockState.block().updateBlock(session, blockState, position);
+        session.getSubChunkCache().onBlockUpdate(position, blockState);
     }
 
     public static void sendEmptyChunk(GeyserSession session, int chunkX, int chunkZ, boolean forceUpdate) {
+        // The client will no longer ask for the sections of this column
+        session.getSubChunkCache().removeColumn(chunkX, chunkZ);
+
         BedrockDimension bedrockDimension = session.getBedrockDimension();
         int bedrockSubChunkCount = bedrockDimension.height() >> 4;
 
-        byte[] payload;
         // Allocate output buffer
-        ByteBuf byteBuf = ByteBufAllocator.DEFAULT.buffer(ChunkUtils.EMPTY_BIOME_DATA.length * bedrockSubChunkCount + 1); // Consists only of biome data and border blocks
-        try {
-            byteBuf.writeBytes(EMPTY_BIOME_DATA);
-            for (int i = 1; i < bedrockSubChunkCount; i++) {
-                byteBuf.writeByte((127 << 1) | 1);
-            }
-
-            byteBuf.writeByte(0); // Border blocks - Edu edition only
+        ByteBuf byteBuf = ByteBufAllocator.DEFAULT.ioBuffer(ChunkUtils.EMPTY_BIOME_DATA.length * bedrockSubChunkCount + 1); // Consists only of biome data and border blocks
+        byteBuf.writeBytes(EMPTY_BIOME_DATA);
+        for (int i = 1; i < bedrockSubChunkCount; i++) {
+            byteBuf.writeByte((127 << 1) | 1);
+        }
 
-            payload = new byte[byteBuf.readableBytes()];
-            byteBuf.readBytes(payload);
+        byteBuf.writeByte(0); // Border blocks - Edu edition only
 
-            LevelChunkPacket data = new LevelChunkPacket();
-            data.setDimension(session.getBedrockDimension().bedrockId());
-            data.setChunkX(chunkX);
-            data.setChunkZ(chunkZ);
-            data.setSubChunksLength(0);
-            data.setData(Unpooled.wrappedBuffer(payload));
-            data.setCachingEnabled(false);
-            session.sendUpstreamPacket(data);
-        } finally {
-            byteBuf.release();
-        }
+        LevelChunkPacket data = new LevelChunkPacket();
+        data.setDimension(session.getBedrockDimension().bedrockId());
+        data.setChunkX(chunkX);
+        data.setChunkZ(chunkZ);
+        data.setSubChunksLength(0);
+        data.setData(byteBuf); // Released by the packet once it has been encoded
+        data.setCachingEnabled(false);
+        session.sendUpstreamPacket(data);
 
         if (forceUpdate) {
             Vector3i pos = Vector3i.from(chunkX << 4, 80, chunkZ << 4);
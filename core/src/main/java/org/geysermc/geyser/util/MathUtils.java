@@ -25,9 +25,48 @@
 
 package org.geysermc.geyser.util;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
 public class MathUtils {
     public static final double SQRT_OF_TWO = Math.sqrt(2);
 
+    /**
+     * Powers of ten that are exactly representable as a {@code double}
+     */
+    private static final double[] POW10 = new double[23];
+    /**
+     * The range of decimal exponents needed to convert normal floats, see {@link #positiveFloatToDecimalDouble(int, int)}
+     */
+    private static final int FLOAT_K_MIN = flog10threeQuartersPow2(1 - 150);
+    private static final int FLOAT_K_MAX = flog10pow2(254 - 150);
+    /**
+     * 10^-k scaled into [2^125, 2^126) and rounded up, for k in [{@link #FLOAT_K_MIN}, {@link #FLOAT_K_MAX}].
+     * Only the upper 63 bits plus one are needed for floats.
+     */
+    private static final long[] FLOAT_POW10_INVERSE = new long[FLOAT_K_MAX - FLOAT_K_MIN + 1];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+        for (int k = FLOAT_K_MIN; k <= FLOAT_K_MAX; k++) {
+            // 10^-k = beta * 2^r with 2^125 <= beta < 2^126
+            int r = flog2pow10(-k) - 125;
+            BigInteger numerator = k <= 0 ? BigInteger.TEN.pow(-k) : BigInteger.ONE;
+            BigInteger denominator = k > 0 ? BigInteger.TEN.pow(k) : BigInteger.ONE;
+            if (r < 0) {
+                numerator = numerator.shiftLeft(-r);
+            } else {
+                denominator = denominator.shiftLeft(r);
+            }
+            BigInteger g = numerator.divide(denominator).add(BigInteger.ONE);
+            FLOAT_POW10_INVERSE[k - FLOAT_K_MIN] = g.shiftRight(63).longValueExact() + 1;
+        }
+    }
+
     /**
      * Wrap the given float degrees to be between -180.0 and 180.0.
      * 
@@ -94,6 +133,17 @@ public class MathUtils {
         return (int) unwrapDegrees(degrees);
     }
 
+    /**
+     * Converts degrees to the byte angle that Bedrock uses for entity rotations in movement packets, where 256 steps
+     * make up a full turn. Two angles with the same byte angle look the same to the client.
+     *
+     * @param degrees The degrees value to convert
+     * @return The degrees as a Bedrock byte angle
+     */
+    public static byte byteAngle(float degrees) {
+        return (byte) (degrees / (360f / 256f));
+    }
+
     /**
      * Round the given float to the next whole number
      *
@@ -178,4 +228,174 @@ public class MathUtils {
     public static long chunkPositionToLong(int x, int z) {
         return ((x & 0xFFFFFFFFL) << 32L) | (z & 0xFFFFFFFFL);
     }
+
+    /**
+     * Converts a float to the double that is closest to the float's shortest decimal representation, so
+     * {@code 0.1f} becomes {@code 0.1} instead of {@code 0.10000000149011612}. Gives the same result as
+     * {@code Double.parseDouble(Float.toString(value))} without creating any strings.
+     *
+     * @param value the float to convert
+     * @return the double closest to the decimal representation of the float
+     */
+    public static double floatToDecimalDouble(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        int biasedExponent = (bits >>> 23) & 0xFF;
+        if (biasedExponent == 0 || biasedExponent == 0xFF) {
+            if ((bits & 0x7FFFFFFF) == 0 || biasedExponent == 0xFF) {
+                // Zero, infinity and NaN stay the same
+                return value;
+            }
+            // Subnormal values aren't worth the extra work
+            return Double.parseDouble(Float.toString(value));
+        }
+        if (biasedExponent >= 127 + 24 || (bits & 0x7FFFFF) == 0) {
+            // Every float from 2^24 onwards is an integer, and older Java versions print these in full rather than
+            // the shortest decimal. They also don't always print the shortest decimal for powers of two.
+            // Neither comes up often enough to bother.
+            return Double.parseDouble(Float.toString(value));
+        }
+
+        double result = positiveFloatToDecimalDouble(bits & 0x7FFFFFFF, biasedExponent);
+        if (Double.isNaN(result)) {
+            return Double.parseDouble(Float.toString(value));
+        }
+        return bits < 0 ? -result : result;
+    }
+
+    /**
+     * Finds the shortest decimal that rounds to the float, as specified by {@link Float#toString(float)}. This is the
+     * Schubfach algorithm by Raffaello Giulietti, as used by {@code Float.toString} since Java 19.
+     *
+     * @return the double closest to that decimal, or NaN if the float is too large or too small to handle exactly
+     */
+    private static double positiveFloatToDecimalDouble(int bits, int biasedExponent) {
+        // value = c * 2^q
+        int q = biasedExponent - 150;
+        int c = (bits & 0x7FFFFF) | 0x800000;
+        int out = c & 1;
+        // Everything is scaled by 4 so the bounds of the rounding interval are integers
+        long cb = (long) c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if ((bits & 0x7FFFFF) != 0 || biasedExponent == 1) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            // The ULP below a power of two is half the size
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 33;
+
+        // The value and its bounds multiplied by 10^-k, rounded to odd
+        long g = FLOAT_POW10_INVERSE[k - FLOAT_K_MIN];
+        int vb = roundToOdd(g, cb << h);
+        int vbl = roundToOdd(g, cbl << h);
+        int vbr = roundToOdd(g, cbr << h);
+
+        // The shortest decimal is either one digit shorter than s, or s or s + 1
+        int s = vb >> 2;
+        if (s >= 100) {
+            int sp10 = 10 * (int) (s * 1_717_986_919L >>> 34);
+            int tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return decimalToDouble(upin ? sp10 : tp10, k);
+            }
+        }
+
+        int t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return decimalToDouble(uin ? s : t, k);
+        }
+        // Both are in range; pick the closer one, or the even one if they are equally close
+        long comparison = vb - ((long) (s + t) << 1);
+        return decimalToDouble(comparison < 0 || comparison == 0 && (s & 1) == 0 ? s : t, k);
+    }
+
+    /**
+     * @return the upper bits of g * cp, with the lowest bit set if any of the discarded bits are
+     */
+    private static int roundToOdd(long g, long cp) {
+        long high = Math.multiplyHigh(g, cp);
+        return (int) (high >>> 31 | (high & 0xFFFFFFFFL) + 0xFFFFFFFFL >>> 32);
+    }
+
+    /**
+     * @return floor(log10(2^e)) for |e| <= 5456721
+     */
+    private static int flog10pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    /**
+     * @return floor(log10(3/4 * 2^e)) for |e| <= 5456721
+     */
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    /**
+     * @return floor(log2(10^e)) for |e| <= 1838394
+     */
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    /**
+     * Correctly rounds decimal * 10^decimalExponent to a double, like {@link Double#parseDouble(String)}.
+     *
+     * @return the double, or NaN if it can't be done with a single correctly rounded operation
+     */
+    private static double decimalToDouble(long decimal, int decimalExponent) {
+        // Both operands are exact, and IEEE 754 rounds the result of a single operation correctly
+        if (decimal >= (1L << 53) || Math.abs(decimalExponent) >= POW10.length) {
+            return Double.NaN;
+        }
+        return decimalExponent >= 0 ? decimal * POW10[decimalExponent] : decimal / POW10[-decimalExponent];
+    }
+
+    /**
+     * Rounds the value to the given number of decimal places, rounding ties to even. Gives the same result as
+     * formatting the value with a {@link java.text.DecimalFormat} such as {@code #.#####} and parsing it back.
+     *
+     * @param value the value to round
+     * @param decimalPlaces the number of decimal places to keep, up to 22
+     * @return the rounded value
+     */
+    public static double roundHalfEven(double value, int decimalPlaces) {
+        double scale = POW10[decimalPlaces];
+        if (decimalPlaces >= 3 && Math.abs(value) == 5 / (scale * 10)) {
+            // Mirrors DigitList.shouldRoundUp in DecimalFormat: for a lone 5 right after the last decimal place, below 1e-3,
+            // it takes the shortest digits ("5.0E-6") to be the exact value, so HALF_EVEN sees a tie with no digit
+            // before it and rounds down to zero, even where the double itself is just above the tie
+            return Math.copySign(0.0, value);
+        }
+        double product = value * scale;
+        if (!Double.isFinite(product) || Math.abs(product) >= 0x1p52) {
+            // Too large to round with doubles
+            return new BigDecimal(value).setScale(decimalPlaces, RoundingMode.HALF_EVEN).doubleValue();
+        }
+        // product + error is exactly value * scale
+        double error = Math.fma(value, scale, -product);
+        double floor = Math.floor(product);
+        // Rounding is monotonic, so comparing the rounded product to the halfway point is exact
+        // unless they are equal, in which case the error decides
+        double half = floor + 0.5;
+
+        double rounded;
+        if (product > half || (product == half && error > 0)) {
+            rounded = floor + 1;
+        } else if (product < half || error < 0) {
+            rounded = floor;
+        } else {
+            rounded = floor % 2 == 0 ? floor : floor + 1;
+        }
+        // Negative values that round to zero become -0.0, like "-0" would be parsed
+        return rounded == 0 ? Math.copySign(0.0, value) : rounded / scale;
+    }
 }
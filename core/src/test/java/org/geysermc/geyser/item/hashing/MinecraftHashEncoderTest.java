@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.item.hashing;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the encoder against hashing the same bytes with Guava's crc32c hasher.
+ */
+public class MinecraftHashEncoderTest {
+    private static final int SAMPLES = 10_000;
+    private static final HashFunction CRC32C = Hashing.crc32c();
+    private static final Comparator<HashCode> HASH_COMPARATOR = Comparator.comparingLong(HashCode::padToLong);
+
+    private final MinecraftHashEncoder encoder = new MinecraftHashEncoder(null);
+
+    @Test
+    public void primitivesMatchGuava() {
+        assertEquals(CRC32C.hashBytes(new byte[]{1}), encoder.empty());
+        assertEquals(CRC32C.hashBytes(MinecraftHashEncoder.EMPTY_MAP), encoder.emptyMap());
+        assertEquals(CRC32C.hashBytes(new byte[]{13, 1}), encoder.bool(true));
+        assertEquals(CRC32C.hashBytes(new byte[]{13, 0}), encoder.bool(false));
+
+        SplittableRandom random = new SplittableRandom(0);
+        for (int i = 0; i < SAMPLES; i++) {
+            int value = random.nextInt();
+            long longValue = random.nextLong();
+            assertEquals(CRC32C.newHasher().putByte((byte) 6).putByte((byte) value).hash(), encoder.number((byte) value));
+            assertEquals(CRC32C.newHasher().putByte((byte) 7).putShort((short) value).hash(), encoder.number((short) value));
+            assertEquals(CRC32C.newHasher().putByte((byte) 8).putInt(value).hash(), encoder.number(value));
+            assertEquals(CRC32C.newHasher().putByte((byte) 9).putLong(longValue).hash(), encoder.number(longValue));
+            float floatValue = Float.intBitsToFloat(value);
+            assertEquals(CRC32C.newHasher().putByte((byte) 10).putFloat(floatValue).hash(), encoder.number(floatValue));
+            double doubleValue = Double.longBitsToDouble(longValue);
+            assertEquals(CRC32C.newHasher().putByte((byte) 11).putDouble(doubleValue).hash(), encoder.number(doubleValue));
+
+            StringBuilder builder = new StringBuilder();
+            int length = random.nextInt(20);
+            for (int j = 0; j < length; j++) {
+                builder.append((char) random.nextInt(Character.MAX_VALUE + 1));
+            }
+            String string = builder.toString();
+            assertEquals(CRC32C.newHasher().putByte((byte) 12).putInt(length).putUnencodedChars(string).hash(), encoder.string(string));
+
+            int[] ints = random.ints(random.nextInt(5)).toArray();
+            Hasher intsHasher = CRC32C.newHasher().putByte((byte) 16);
+            for (int j : ints) {
+                intsHasher.putInt(j);
+            }
+            assertEquals(intsHasher.putByte((byte) 17).hash(), encoder.intArray(ints));
+
+            long[] longs = random.longs(random.nextInt(5)).toArray();
+            Hasher longsHasher = CRC32C.newHasher().putByte((byte) 18);
+            for (long j : longs) {
+                longsHasher.putLong(j);
+            }
+            assertEquals(longsHasher.putByte((byte) 19).hash(), encoder.longArray(longs));
+        }
+    }
+
+    @Test
+    public void listsAndMapsMatchGuava() {
+        SplittableRandom random = new SplittableRandom(0);
+        for (int i = 0; i < SAMPLES; i++) {
+            List<HashCode> list = new ArrayList<>();
+            int size = random.nextInt(8);
+            for (int j = 0; j < size; j++) {
+                list.add(HashCode.fromInt(random.nextInt()));
+            }
+            Hasher listHasher = CRC32C.newHasher().putByte((byte) 4);
+            list.forEach(hash -> listHasher.putBytes(hash.asBytes()));
+            assertEquals(listHasher.putByte((byte) 5).hash(), encoder.list(list));
+
+            // Few distinct keys on both sides of the sign bit, so that sorting by key and then by value is tested
+            Map<HashCode, HashCode> map = new HashMap<>();
+            for (int j = 0; j < size; j++) {
+                int key = random.nextInt(4) + (random.nextBoolean() ? Integer.MIN_VALUE : 0);
+                map.put(HashCode.fromInt(key), HashCode.fromInt(random.nextInt()));
+            }
+            Hasher mapHasher = CRC32C.newHasher().putByte((byte) 2);
+            map.entrySet().stream()
+                .sorted(Map.Entry.<HashCode, HashCode>comparingByKey(HASH_COMPARATOR).thenComparing(Map.Entry.comparingByValue(HASH_COMPARATOR)))
+                .forEach(entry -> mapHasher.putBytes(entry.getKey().asBytes()).putBytes(entry.getValue().asBytes()));
+            assertEquals(mapHasher.putByte((byte) 3).hash(), encoder.map(map));
+        }
+    }
+}
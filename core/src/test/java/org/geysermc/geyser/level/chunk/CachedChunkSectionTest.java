@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import org.geysermc.geyser.level.block.type.Block;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class CachedChunkSectionTest {
+
+    @Test
+    public void singletonIsCopiedOnWrite() {
+        CachedChunkSection empty = CachedChunkSection.EMPTY;
+        assertSame(empty, empty.set(1, 2, 3, Block.JAVA_AIR_ID));
+
+        CachedChunkSection section = empty.set(1, 2, 3, 10);
+        assertNotSame(empty, section);
+        assertEquals(Block.JAVA_AIR_ID, empty.get(1, 2, 3));
+        assertEquals(10, section.get(1, 2, 3));
+        assertEquals(Block.JAVA_AIR_ID, section.get(3, 2, 1));
+    }
+
+    @Test
+    public void paletteGrowsWithoutLosingBlocks() {
+        CachedChunkSection section = CachedChunkSection.singleton(7);
+        // Enough different block states to widen the data several times
+        for (int i = 0; i < 200; i++) {
+            int x = i & 0xF;
+            int y = (i >> 4) & 0xF;
+            section = section.set(x, y, 15 - x, 100 + i);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            int x = i & 0xF;
+            int y = (i >> 4) & 0xF;
+            assertEquals(100 + i, section.get(x, y, 15 - x));
+        }
+        assertEquals(7, section.get(0, 15, 0));
+    }
+}
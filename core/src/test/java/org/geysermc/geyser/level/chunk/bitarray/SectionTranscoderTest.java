@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk.bitarray;
+
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.BitStorage;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.geysermc.geyser.util.ChunkUtils.indexYZXtoXZY;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+public class SectionTranscoderTest {
+
+    @Test
+    public void matchesPerEntryConversion() {
+        Random random = new Random(4096);
+        // Includes padded Bedrock versions and Java storages that leave unused bits in each long
+        int[][] cases = {{4, 4}, {5, 5}, {6, 6}, {4, 3}, {8, 8}, {15, 16}};
+        for (int[] bitsCase : cases) {
+            int javaBits = bitsCase[0];
+            BitArrayVersion version = BitArrayVersion.forBitsCeil(bitsCase[1]);
+            int maxValue = Math.min((1 << javaBits) - 1, version.getMaxEntryValue());
+
+            BitStorage storage = new BitStorage(javaBits, SectionTranscoder.SECTION_SIZE);
+            for (int i = 0; i < SectionTranscoder.SECTION_SIZE; i++) {
+                storage.set(i, random.nextInt(maxValue + 1));
+            }
+
+            BitArray expected = version.createArray(SectionTranscoder.SECTION_SIZE);
+            for (int yzx = 0; yzx < SectionTranscoder.SECTION_SIZE; yzx++) {
+                expected.set(indexYZXtoXZY(yzx), storage.get(yzx));
+            }
+
+            int[] values = new int[SectionTranscoder.SECTION_SIZE];
+            SectionTranscoder.unpack(storage, values);
+            BitArray actual = version.createArray(SectionTranscoder.SECTION_SIZE);
+            SectionTranscoder.packXZY(values, actual);
+
+            assertArrayEquals(expected.getWords(), actual.getWords(), "Java bits " + javaBits + ", Bedrock " + version);
+        }
+    }
+
+    @Test
+    public void flagsMatchPerEntryConversion() {
+        Random random = new Random(16);
+        int[] values = new int[SectionTranscoder.SECTION_SIZE];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(16);
+        }
+        BitSet flagged = new BitSet();
+        flagged.set(3);
+        flagged.set(11);
+
+        BitArray expected = BitArrayVersion.V1.createArray(SectionTranscoder.SECTION_SIZE);
+        for (int yzx = 0; yzx < values.length; yzx++) {
+            if (flagged.get(values[yzx])) {
+                expected.set(indexYZXtoXZY(yzx), 1);
+            }
+        }
+
+        BitArray actual = BitArrayVersion.V1.createArray(SectionTranscoder.SECTION_SIZE);
+        SectionTranscoder.packFlagsXZY(values, flagged, actual);
+        assertArrayEquals(expected.getWords(), actual.getWords());
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session;
+
+import org.cloudburstmc.math.vector.Vector3i;
+import org.cloudburstmc.protocol.bedrock.data.BlockChangeEntry;
+import org.cloudburstmc.protocol.bedrock.data.definitions.BlockDefinition;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.UpdateBlockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.UpdateSubChunkBlocksPacket;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BlockUpdateBatchTest {
+
+    @Test
+    public void singleUpdateIsSentAsIs() {
+        BlockUpdateBatch batch = new BlockUpdateBatch();
+        UpdateBlockPacket packet = update(1, 2, 3, 0, 10);
+        batch.add(packet);
+
+        List<BedrockPacket> sent = flush(batch);
+        assertEquals(1, sent.size());
+        assertSame(packet, sent.get(0));
+        assertTrue(batch.isEmpty());
+    }
+
+    @Test
+    public void updatesAreCombinedPerSubChunk() {
+        BlockUpdateBatch batch = new BlockUpdateBatch();
+        batch.add(update(1, 2, 3, 0, 10));
+        batch.add(update(15, 15, 15, 0, 11));
+        // Waterlogging goes to the second layer
+        batch.add(update(4, 5, 6, 1, 12));
+
+        List<BedrockPacket> sent = flush(batch);
+        assertEquals(1, sent.size());
+        UpdateSubChunkBlocksPacket packet = assertInstanceOf(UpdateSubChunkBlocksPacket.class, sent.get(0));
+        assertEquals(0, packet.getChunkX());
+        assertEquals(0, packet.getChunkY());
+        assertEquals(0, packet.getChunkZ());
+        assertEquals(2, packet.getStandardBlocks().size());
+        assertEquals(1, packet.getExtraBlocks().size());
+
+        BlockChangeEntry entry = packet.getStandardBlocks().get(1);
+        assertEquals(Vector3i.from(15, 15, 15), entry.getPosition());
+        assertEquals(11, entry.getDefinition().getRuntimeId());
+        // NEIGHBORS | NETWORK
+        assertEquals(3, entry.getUpdateFlags());
+        assertEquals(12, packet.getExtraBlocks().get(0).getDefinition().getRuntimeId());
+    }
+
+    @Test
+    public void negativeCoordinatesUseTheirOwnSubChunks() {
+        BlockUpdateBatch batch = new BlockUpdateBatch();
+        batch.add(update(-16, -64, -16, 0, 1));
+        batch.add(update(-1, -49, -1, 0, 2));
+        batch.add(update(0, 0, 0, 0, 3));
+        batch.add(update(-1, -1, -1, 0, 4));
+
+        List<BedrockPacket> sent = flush(batch);
+        assertEquals(3, sent.size());
+        UpdateSubChunkBlocksPacket packet = assertInstanceOf(UpdateSubChunkBlocksPacket.class, sent.get(0));
+        assertEquals(-1, packet.getChunkX());
+        assertEquals(-4, packet.getChunkY());
+        assertEquals(-1, packet.getChunkZ());
+        assertEquals(2, packet.getStandardBlocks().size());
+        assertEquals(3, ((UpdateBlockPacket) sent.get(1)).getDefinition().getRuntimeId());
+        assertEquals(4, ((UpdateBlockPacket) sent.get(2)).getDefinition().getRuntimeId());
+    }
+
+    @Test
+    public void distantSubChunksAreNotMixedUp() {
+        BlockUpdateBatch batch = new BlockUpdateBatch();
+        // Opposite ends of the world border, and the top and bottom of a tall world
+        batch.add(update(29_999_999, 0, 0, 0, 1));
+        batch.add(update(-29_999_999, 0, 0, 0, 2));
+        batch.add(update(0, 2031, 29_999_999, 0, 3));
+        batch.add(update(0, -2032, -29_999_999, 0, 4));
+
+        assertEquals(4, flush(batch).size());
+    }
+
+    @Test
+    public void fullBatchAsksToBeFlushed() {
+        BlockUpdateBatch batch = new BlockUpdateBatch();
+        for (int i = 0; i < BlockUpdateBatch.MAX_UPDATES - 1; i++) {
+            assertFalse(batch.add(update(i, 0, 0, 0, 1)));
+        }
+        assertTrue(batch.add(update(0, 1, 0, 0, 1)));
+
+        flush(batch);
+        assertTrue(batch.isEmpty());
+        assertFalse(batch.add(update(0, 0, 0, 0, 1)));
+    }
+
+    private static List<BedrockPacket> flush(BlockUpdateBatch batch) {
+        List<BedrockPacket> sent = new ArrayList<>();
+        batch.flush(sent::add);
+        return sent;
+    }
+
+    private static UpdateBlockPacket update(int x, int y, int z, int layer, int runtimeId) {
+        BlockDefinition definition = () -> runtimeId;
+        UpdateBlockPacket packet = new UpdateBlockPacket();
+        packet.setBlockPosition(Vector3i.from(x, y, z));
+        packet.setDefinition(definition);
+        packet.setDataLayer(layer);
+        packet.getFlags().add(UpdateBlockPacket.Flag.NEIGHBORS);
+        packet.getFlags().add(UpdateBlockPacket.Flag.NETWORK);
+        return packet;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session;
+
+import org.cloudburstmc.math.vector.Vector3f;
+import org.cloudburstmc.protocol.bedrock.data.entity.EntityDataTypes;
+import org.cloudburstmc.protocol.bedrock.data.entity.IntEntityProperty;
+import org.cloudburstmc.protocol.bedrock.packet.AddEntityPacket;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.MoveEntityAbsolutePacket;
+import org.cloudburstmc.protocol.bedrock.packet.MoveEntityDeltaPacket;
+import org.cloudburstmc.protocol.bedrock.packet.RemoveEntityPacket;
+import org.cloudburstmc.protocol.bedrock.packet.SetEntityDataPacket;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UpstreamPacketBatchTest {
+    private static final long ENTITY_ID = 42;
+
+    @Test
+    public void deltasAreMergedIntoTheNewerPacket() {
+        UpstreamPacketBatch batch = new UpstreamPacketBatch();
+        MoveEntityDeltaPacket first = delta(ENTITY_ID, MoveEntityDeltaPacket.Flag.HAS_X, MoveEntityDeltaPacket.Flag.HAS_YAW);
+        first.setX(100);
+        first.setYaw(90);
+        MoveEntityDeltaPacket second = delta(ENTITY_ID, MoveEntityDeltaPacket.Flag.HAS_X, MoveEntityDeltaPacket.Flag.HAS_Y);
+        second.setX(101);
+        second.setY(64);
+        batch.add(first);
+        batch.add(second);
+
+        List<BedrockPacket> sent = flush(batch);
+        assertEquals(1, sent.size());
+        assertSame(second, sent.get(0));
+        assertEquals(EnumSet.of(MoveEntityDeltaPacket.Flag.HAS_X, MoveEntityDeltaPacket.Flag.HAS_Y, MoveEntityDeltaPacket.Flag.HAS_YAW), second.getFlags());
+        assertEquals(101, second.getX());
+        assertEquals(64, second.getY());
+        assertEquals(90, second.getYaw());
+    }
+
+    @Test
+    public void onGroundComesFromTheNewerPacket() {
+        UpstreamPacketBatch batch = new UpstreamPacketBatch();
+        batch.add(delta(ENTITY_ID, MoveEntityDeltaPacket.Flag.HAS_Y, MoveEntityDeltaPacket.Flag.ON_GROUND));
+        MoveEntityDeltaPacket second = delta(ENTITY_ID, MoveEntityDeltaPacket.Flag.HAS_Y);
+        batch.add(second);
+
+        flush(batch);
+        assertFalse(second.getFlags().contains(MoveEntityDeltaPacket.Flag.ON_GROUND));
+    }
+
+    @Test
+    public void teleportSurvivesTheMerge() {
+        UpstreamPacketBatch batch = new UpstreamPacketBatch();
+        batch.add(delta(ENTITY_ID, MoveEntityDeltaPacket.Flag.HAS_X, MoveEntityDeltaPacket.Flag.TELEPORTING));
+        MoveEntityDeltaPacket second = delta(ENTITY_ID, MoveEntityDeltaPacket.Flag.HAS_Z);
+        batch.add(second);
+
+        assertEquals(1, flush(batch).size());
+        assertTrue(second.getFlags().contains(MoveEntityDeltaPacket.Flag.TELEPORTING));
+    }
+
+    @Test
+    public void deltasOfDifferentEntitiesAreKept() {
+        UpstreamPacketBatch batch = new UpstreamPacketBatch();
+        batch.add(delta(ENTITY_ID, MoveEntityDeltaPacket.Flag.HAS_X));
+        batch.add(delta(ENTITY_ID + 1, MoveEntityDeltaPacket.Flag.HAS_X));
+
+        assertEquals(2, flush(batch).size());
+    }
+
+    @Test
+    public void deltasAreNotMergedAcrossAbsoluteMoves() {
+        UpstreamPacketBatch batch = new UpstreamPacketBatch();
+        MoveEntityDeltaPacket first = delta(ENTITY_ID, MoveEntityDeltaPacket.Flag.HAS_X);
+        first.setX(100);
+        batch.add(first);
+        MoveEntityAbsolutePacket teleport = new MoveEntityAbsolutePacket();
+        teleport.setRuntimeEntityId(ENTITY_ID);
+        teleport.setPosition(Vector3f.from(500, 64, 0));
+        batch.add(teleport);
+        MoveEntityDeltaPacket second = delta(ENTITY_ID, MoveEntityDeltaPacket.Flag.HAS_Y);
+        batch.add(second);
+
+        List<BedrockPacket> sent = flush(batch);
+        assertEquals(List.of(first, teleport, second), sent);
+        // The entity must not snap back to where it was before the teleport
+        assertEquals(EnumSet.of(MoveEntityDeltaPacket.Flag.HAS_Y), second.getFlags());
+    }
+
+    @Test
+    public void deltasAreNotMergedAcrossRespawns() {
+        UpstreamPacketBatch batch = new UpstreamPacketBatch();
+        MoveEntityDeltaPacket first = delta(ENTITY_ID, MoveEntityDeltaPacket.Flag.HAS_X);
+        batch.add(first);
+        RemoveEntityPacket remove = new RemoveEntityPacket();
+        remove.setUniqueEntityId(ENTITY_ID);
+        batch.add(remove);
+        AddEntityPacket add = new AddEntityPacket();
+        add.setRuntimeEntityId(ENTITY_ID);
+        add.setUniqueEntityId(ENTITY_ID);
+        batch.add(add);
+        MoveEntityDeltaPacket second = delta(ENTITY_ID, MoveEntityDeltaPacket.Flag.HAS_Y);
+        batch.add(second);
+
+        assertEquals(List.of(first, remove, add, second), flush(batch));
+        assertEquals(EnumSet.of(MoveEntityDeltaPacket.Flag.HAS_Y), second.getFlags());
+    }
+
+    @Test
+    public void entityDataIsMergedIntoTheEarlierPacket() {
+        UpstreamPacketBatch batch = new UpstreamPacketBatch();
+        SetEntityDataPacket first = data(ENTITY_ID);
+        first.getMetadata().put(EntityDataTypes.SCALE, 1f);
+        first.getMetadata().put(EntityDataTypes.NAME, "first");
+        SetEntityDataPacket second = data(ENTITY_ID);
+        second.getMetadata().put(EntityDataTypes.SCALE, 2f);
+        second.setTick(7);
+        batch.add(first);
+        batch.add(delta(ENTITY_ID, MoveEntityDeltaPacket.Flag.HAS_X));
+        batch.add(second);
+
+        List<BedrockPacket> sent = flush(batch);
+        assertEquals(2, sent.size());
+        assertInstanceOf(MoveEntityDeltaPacket.class, sent.get(0));
+        // The merged packet takes the place of the newer one
+        assertSame(first, sent.get(1));
+        assertEquals(Float.valueOf(2f), first.getMetadata().get(EntityDataTypes.SCALE));
+        assertEquals("first", first.getMetadata().get(EntityDataTypes.NAME));
+        assertEquals(7, first.getTick());
+    }
+
+    @Test
+    public void entityPropertiesPreventMerging() {
+        UpstreamPacketBatch batch = new UpstreamPacketBatch();
+        SetEntityDataPacket first = data(ENTITY_ID);
+        first.getMetadata().put(EntityDataTypes.SCALE, 1f);
+        SetEntityDataPacket properties = data(ENTITY_ID);
+        properties.getProperties().getIntProperties().add(new IntEntityProperty(0, 1));
+        SetEntityDataPacket last = data(ENTITY_ID);
+        last.getMetadata().put(EntityDataTypes.SCALE, 2f);
+        batch.add(first);
+        batch.add(properties);
+        batch.add(last);
+
+        assertEquals(List.of(first, properties, last), flush(batch));
+        assertEquals(Float.valueOf(1f), first.getMetadata().get(EntityDataTypes.SCALE));
+    }
+
+    private static List<BedrockPacket> flush(UpstreamPacketBatch batch) {
+        List<BedrockPacket> sent = new ArrayList<>();
+        batch.flush(sent::add);
+        return sent;
+    }
+
+    private static MoveEntityDeltaPacket delta(long entityId, MoveEntityDeltaPacket.Flag... flags) {
+        MoveEntityDeltaPacket packet = new MoveEntityDeltaPacket();
+        packet.setRuntimeEntityId(entityId);
+        packet.getFlags().addAll(List.of(flags));
+        return packet;
+    }
+
+    private static SetEntityDataPacket data(long entityId) {
+        SetEntityDataPacket packet = new SetEntityDataPacket();
+        packet.setRuntimeEntityId(entityId);
+        return packet;
+    }
+}
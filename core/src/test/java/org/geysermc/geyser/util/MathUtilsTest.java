@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2025 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MathUtilsTest {
+    /**
+     * Random samples on top of the edge cases, seeded so that failures can be reproduced
+     */
+    private static final int SAMPLES = 2_000;
+
+    @Test
+    public void floatToDecimalDoubleMatchesParsing() {
+        float[] edgeCases = {0f, -0f, 0.1f, -0.1f, 1f, 0.5f, 0x1p-27f, 1e-4f, 1e7f, 3e7f, -3e7f, 16777217f,
+                Float.MIN_NORMAL, Float.MAX_VALUE, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NaN};
+        for (float value : edgeCases) {
+            assertFloatConversion(value);
+        }
+        // Every power of two, including 2^24 where floats stop holding every integer, and down into subnormals
+        for (int exponent = -149; exponent <= 127; exponent++) {
+            assertFloatConversion(Math.scalb(1f, exponent));
+            assertFloatConversion(-Math.scalb(1f, exponent));
+        }
+        float[] subnormals = {Float.MIN_VALUE, 2 * Float.MIN_VALUE, 3 * Float.MIN_VALUE, 0x1p-140f, 0x1.8p-140f,
+                Math.nextDown(Float.MIN_NORMAL), Float.intBitsToFloat(0x00400001)};
+        for (float value : subnormals) {
+            assertFloatConversion(value);
+            assertFloatConversion(-value);
+        }
+
+        SplittableRandom random = new SplittableRandom(0);
+        for (int i = 0; i < SAMPLES; i++) {
+            // Any bit pattern, and coordinates inside the world border
+            assertFloatConversion(Float.intBitsToFloat(random.nextInt()));
+            assertFloatConversion((float) ((random.nextDouble() - 0.5) * 6e7));
+            assertFloatConversion((float) ((random.nextDouble() - 0.5) * 2048));
+        }
+    }
+
+    @Test
+    public void byteAngleMatchesBedrockSteps() {
+        assertEquals(0, MathUtils.byteAngle(0f));
+        assertEquals(0, MathUtils.byteAngle(1.4f));
+        assertEquals(1, MathUtils.byteAngle(1.40625f));
+        assertEquals(64, MathUtils.byteAngle(90f));
+        assertEquals(-128, MathUtils.byteAngle(180f));
+        assertEquals(-64, MathUtils.byteAngle(-90f));
+        // A full turn looks the same to the client
+        assertEquals(MathUtils.byteAngle(45f), MathUtils.byteAngle(405f));
+    }
+
+    @Test
+    public void roundHalfEvenMatchesDecimalFormat() {
+        DecimalFormat format = new DecimalFormat("#.#####", new DecimalFormatSymbols(Locale.ENGLISH));
+        double[] edgeCases = {0, -0.0, 1.000005, 2.5e-6, 1e-300, 64.123455, 1e12 + 0.5};
+        for (double value : edgeCases) {
+            assertRounding(format, value);
+        }
+        // Ties on the sixth decimal place, including the lone 5 that roundHalfEven special cases
+        double[] ties = {0.000005, -0.000005, 4.9999999999999996E-6, -4.9999999999999996E-6, 0.000015, 0.000025,
+                0.000035, 1.000015, 1.000025, 0.123455, 0.123465};
+        for (double value : ties) {
+            assertRounding(format, value);
+        }
+
+        SplittableRandom random = new SplittableRandom(0);
+        for (int i = 0; i < SAMPLES; i++) {
+            assertRounding(format, (random.nextDouble() - 0.5) * 640);
+            // Exact ties at the sixth decimal place
+            assertRounding(format, Math.round((random.nextDouble() - 0.5) * 6.4e8) / 2e6);
+            double any = Float.intBitsToFloat(random.nextInt());
+            if (Double.isFinite(any)) {
+                assertRounding(format, any);
+            }
+        }
+    }
+
+    @Test
+    public void roundHalfEvenMatchesDecimalFormatForLoneFives() {
+        for (int decimalPlaces = 1; decimalPlaces <= 8; decimalPlaces++) {
+            DecimalFormat format = new DecimalFormat("#." + "#".repeat(decimalPlaces), new DecimalFormatSymbols(Locale.ENGLISH));
+            double value = 5 / Math.pow(10, decimalPlaces + 1);
+            for (double signed : new double[]{value, -value}) {
+                double expected = Double.parseDouble(format.format(signed));
+                int places = decimalPlaces;
+                assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(MathUtils.roundHalfEven(signed, places)),
+                        () -> "Rounding of " + signed + " to " + places + " decimal places");
+            }
+        }
+    }
+
+    private static void assertFloatConversion(float value) {
+        double expected = Double.parseDouble(Float.toString(value));
+        assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(MathUtils.floatToDecimalDouble(value)),
+                () -> "Conversion of " + value);
+    }
+
+    private static void assertRounding(DecimalFormat format, double value) {
+        double expected = Double.parseDouble(format.format(value));
+        assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(MathUtils.roundHalfEven(value, 5)),
+                () -> "Rounding of " + value);
+    }
+}